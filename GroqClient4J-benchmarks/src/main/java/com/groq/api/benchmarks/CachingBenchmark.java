@@ -0,0 +1,82 @@
+package com.groq.api.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.cache.CachingGroqApi;
+import com.groq.api.cache.ResponseCache;
+import com.groq.api.client.GroqApiClient;
+import com.groq.api.client.GroqClientFactory;
+import com.groq.api.config.GroqApiConfig;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionRequest;
+import com.groq.api.models.Message;
+import com.groq.api.utils.JsonUtils;
+
+/**
+ * Measures chat completions served by {@link CachingGroqApi}: hashing the request, the cache
+ * lookup and copying the cached response. Compare with {@link RoundTripBenchmark#chatCompletion()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CachingBenchmark {
+    private StubGroqServer server;
+    private GroqApiClient client;
+    private CachingGroqApi cachingApi;
+    private JsonNode request;
+    private ChatCompletionRequest typedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new StubGroqServer(16);
+        client = GroqClientFactory.createClient(GroqApiConfig.create("bench-key", server.baseUrl()));
+        cachingApi = new CachingGroqApi(client, ResponseCache.create(10_000, Duration.ofHours(1)));
+        request = JsonUtils.createChatRequest(Payloads.MODEL, Payloads.messages(8), 0f);
+        typedRequest = ChatCompletionRequest.of(Payloads.MODEL, List.of(
+            Message.system("You are a helpful programming assistant."),
+            Message.user("What are the benefits of using Java records?")
+        )).withTemperature(0f);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public JsonNode cachedChatCompletion() {
+        return cachingApi.createChatCompletion(request).join();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public JsonNode cachedChatCompletionConcurrent() {
+        return cachingApi.createChatCompletion(request).join();
+    }
+
+    @Benchmark
+    public ChatCompletion cachedTypedChatCompletion() {
+        return cachingApi.createChatCompletion(typedRequest).join();
+    }
+}
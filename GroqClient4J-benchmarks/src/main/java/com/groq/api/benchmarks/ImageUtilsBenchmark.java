@@ -0,0 +1,57 @@
+package com.groq.api.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.groq.api.utils.ImageUtils;
+
+/**
+ * Measures Base64 encoding of image files with {@link ImageUtils#convertImageToBase64(String)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageUtilsBenchmark {
+
+    @Param({"65536", "1048576", "3145728"})
+    public int imageBytes;
+
+    private Path image;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] data = new byte[imageBytes];
+        new Random(42).nextBytes(data);
+        image = Files.createTempFile("groq-bench-image", ".jpg");
+        Files.write(image, data);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(image);
+    }
+
+    @Benchmark
+    public String convertImageToBase64() throws IOException {
+        return ImageUtils.convertImageToBase64(image.toString());
+    }
+}
@@ -0,0 +1,89 @@
+package com.groq.api.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.groq.api.models.ChatCompletionRequest;
+import com.groq.api.models.Message;
+import com.groq.api.models.Tool;
+import com.groq.api.utils.JsonUtils;
+
+/**
+ * Measures building and serializing chat and tools requests with {@link JsonUtils}, compared
+ * with writing the typed {@link ChatCompletionRequest} straight to bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonRequestBenchmark {
+
+    @Param({"2", "20"})
+    public int turns;
+
+    @Param({"1", "8"})
+    public int toolCount;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectWriter requestWriter = mapper.writerFor(ChatCompletionRequest.class);
+    private List<JsonNode> messages;
+    private List<Message> typedMessages;
+    private List<Tool> tools;
+
+    @Setup
+    public void setUp() {
+        messages = Payloads.messages(turns);
+        typedMessages = Payloads.typedMessages(turns);
+        tools = Payloads.tools(toolCount);
+    }
+
+    @Benchmark
+    public JsonNode createChatRequest() {
+        return JsonUtils.createChatRequest(Payloads.MODEL, messages, 0.7f);
+    }
+
+    @Benchmark
+    public JsonNode createToolsRequest() {
+        return JsonUtils.createToolsRequest(Payloads.MODEL, messages, tools, 0.7f);
+    }
+
+    @Benchmark
+    public String createAndSerializeChatRequest() throws JsonProcessingException {
+        return mapper.writeValueAsString(JsonUtils.createChatRequest(Payloads.MODEL, messages, 0.7f));
+    }
+
+    @Benchmark
+    public String createAndSerializeToolsRequest() throws JsonProcessingException {
+        return mapper.writeValueAsString(JsonUtils.createToolsRequest(Payloads.MODEL, messages, tools, 0.7f));
+    }
+
+    @Benchmark
+    public byte[] serializeTypedChatRequest() throws JsonProcessingException {
+        return requestWriter.writeValueAsBytes(
+            ChatCompletionRequest.of(Payloads.MODEL, typedMessages).withTemperature(0.7f));
+    }
+
+    @Benchmark
+    public byte[] serializeTypedToolsRequest() throws JsonProcessingException {
+        return requestWriter.writeValueAsBytes(
+            ChatCompletionRequest.of(Payloads.MODEL, typedMessages).withTools(tools, "auto").withTemperature(0.7f));
+    }
+}
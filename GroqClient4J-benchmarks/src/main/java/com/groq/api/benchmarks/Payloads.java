@@ -0,0 +1,155 @@
+package com.groq.api.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.groq.api.models.Function;
+import com.groq.api.models.Message;
+import com.groq.api.models.Tool;
+
+/**
+ * Canned requests and responses shaped like real Groq API traffic.
+ */
+public final class Payloads {
+    public static final String MODEL = "llama-3.3-70b-versatile";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Payloads() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Creates a conversation history with alternating user and assistant turns.
+     *
+     * @param turns The number of messages in the conversation.
+     * @return The list of message nodes.
+     */
+    public static List<JsonNode> messages(int turns) {
+        List<JsonNode> messages = new ArrayList<>(turns + 1);
+        messages.add(MAPPER.createObjectNode()
+            .put("role", "system")
+            .put("content", "You are a helpful assistant that answers concisely."));
+        for (int i = 0; i < turns; i++) {
+            messages.add(MAPPER.createObjectNode()
+                .put("role", i % 2 == 0 ? "user" : "assistant")
+                .put("content", "Message number " + i + " with some typical prompt text about Java records and streams."));
+        }
+        return messages;
+    }
+
+    /**
+     * Creates the same conversation history as {@link #messages(int)} as typed messages.
+     *
+     * @param turns The number of messages in the conversation.
+     * @return The list of messages.
+     */
+    public static List<Message> typedMessages(int turns) {
+        List<Message> messages = new ArrayList<>(turns + 1);
+        messages.add(Message.system("You are a helpful assistant that answers concisely."));
+        for (int i = 0; i < turns; i++) {
+            String content = "Message number " + i + " with some typical prompt text about Java records and streams.";
+            messages.add(i % 2 == 0 ? Message.user(content) : Message.assistant(content));
+        }
+        return messages;
+    }
+
+    /**
+     * Creates a set of function tools with a small JSON schema each.
+     *
+     * @param count The number of tools to create.
+     * @return The list of tools.
+     */
+    public static List<Tool> tools(int count) {
+        List<Tool> tools = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ObjectNode parameters = MAPPER.createObjectNode().put("type", "object");
+            ObjectNode properties = parameters.putObject("properties");
+            properties.putObject("location")
+                .put("type", "string")
+                .put("description", "The city and state, e.g. San Francisco, CA");
+            properties.putObject("unit")
+                .put("type", "string")
+                .putArray("enum").add("celsius").add("fahrenheit");
+            parameters.putArray("required").add("location");
+
+            tools.add(Tool.functionTool(new Function(
+                "get_weather_" + i,
+                "Get the current weather in a given location",
+                parameters,
+                arguments -> CompletableFuture.completedFuture("{\"temperature\":22}")
+            )));
+        }
+        return tools;
+    }
+
+    /**
+     * Returns a non-streaming chat completion response.
+     *
+     * @return The response body.
+     */
+    public static String chatCompletion() {
+        return "{\"id\":\"chatcmpl-bench\",\"object\":\"chat.completion\",\"created\":1730000000,"
+            + "\"model\":\"" + MODEL + "\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\","
+            + "\"content\":\"Java records are transparent carriers for immutable data. They reduce boilerplate "
+            + "by generating constructors, accessors, equals, hashCode and toString.\"},"
+            + "\"logprobs\":null,\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"queue_time\":0.01,\"prompt_tokens\":42,\"prompt_time\":0.002,"
+            + "\"completion_tokens\":31,\"completion_time\":0.05,\"total_tokens\":73,\"total_time\":0.052},"
+            + "\"system_fingerprint\":\"fp_bench\",\"x_groq\":{\"id\":\"req_bench\"}}";
+    }
+
+    /**
+     * Returns a server-sent event stream with the given number of content chunks.
+     *
+     * @param chunks The number of content chunks.
+     * @return The event stream body, terminated by {@code [DONE]}.
+     */
+    public static String chatCompletionStream(int chunks) {
+        StringBuilder body = new StringBuilder(chunks * 256);
+        String prefix = "data: {\"id\":\"chatcmpl-bench\",\"object\":\"chat.completion.chunk\",\"created\":1730000000,"
+            + "\"model\":\"" + MODEL + "\",\"system_fingerprint\":\"fp_bench\",\"choices\":[{\"index\":0,";
+        body.append(prefix).append("\"delta\":{\"role\":\"assistant\",\"content\":\"\"},")
+            .append("\"logprobs\":null,\"finish_reason\":null}],\"x_groq\":{\"id\":\"req_bench\"}}\n\n");
+        for (int i = 0; i < chunks; i++) {
+            body.append(prefix).append("\"delta\":{\"content\":\" token").append(i).append("\"},")
+                .append("\"logprobs\":null,\"finish_reason\":null}]}\n\n");
+        }
+        body.append(prefix).append("\"delta\":{},\"logprobs\":null,\"finish_reason\":\"stop\"}],")
+            .append("\"x_groq\":{\"id\":\"req_bench\",\"usage\":{\"queue_time\":0.01,\"prompt_tokens\":42,")
+            .append("\"prompt_time\":0.002,\"completion_tokens\":").append(chunks)
+            .append(",\"completion_time\":0.05,\"total_tokens\":").append(42 + chunks)
+            .append(",\"total_time\":0.052}}}\n\n");
+        body.append("data: [DONE]\n\n");
+        return body.toString();
+    }
+
+    /**
+     * Returns a model list response.
+     *
+     * @return The response body.
+     */
+    public static String models() {
+        return "{\"object\":\"list\",\"data\":["
+            + "{\"id\":\"llama-3.3-70b-versatile\",\"object\":\"model\",\"created\":1733447754,\"owned_by\":\"Meta\","
+            + "\"active\":true,\"context_window\":131072,\"public_apps\":null,\"max_completion_tokens\":32768},"
+            + "{\"id\":\"llama-3.1-8b-instant\",\"object\":\"model\",\"created\":1693721698,\"owned_by\":\"Meta\","
+            + "\"active\":true,\"context_window\":131072,\"public_apps\":null,\"max_completion_tokens\":131072},"
+            + "{\"id\":\"whisper-large-v3\",\"object\":\"model\",\"created\":1693721698,\"owned_by\":\"OpenAI\","
+            + "\"active\":true,\"context_window\":448,\"public_apps\":null,\"max_completion_tokens\":448}]}";
+    }
+
+    /**
+     * Returns a transcription response.
+     *
+     * @return The response body.
+     */
+    public static String transcription() {
+        return "{\"text\":\"This is a transcription of the benchmark audio sample.\","
+            + "\"x_groq\":{\"id\":\"req_bench\"}}";
+    }
+}
@@ -0,0 +1,116 @@
+package com.groq.api.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.client.GroqApiClient;
+import com.groq.api.client.GroqClientFactory;
+import com.groq.api.config.GroqApiConfig;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionRequest;
+import com.groq.api.models.Message;
+import com.groq.api.utils.JsonUtils;
+
+/**
+ * Measures full client round-trips against {@link StubGroqServer}: request building,
+ * serialization, the HTTP exchange over loopback and response parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+    private static final int AUDIO_BYTES = 256 * 1024;
+
+    private StubGroqServer server;
+    private GroqApiClient client;
+    private byte[] audio;
+    private Path audioFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new StubGroqServer(16);
+        client = GroqClientFactory.createClient(GroqApiConfig.create("bench-key", server.baseUrl()));
+        audio = new byte[AUDIO_BYTES];
+        new Random(42).nextBytes(audio);
+        audioFile = Files.createTempFile("groq-bench-audio", ".m4a");
+        Files.write(audioFile, audio);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+        Files.deleteIfExists(audioFile);
+    }
+
+    @Benchmark
+    public JsonNode chatCompletion() {
+        JsonNode request = JsonUtils.createSimpleChatRequest(
+            Payloads.MODEL,
+            "What are the benefits of using Java records?",
+            "You are a helpful programming assistant.",
+            0.7f
+        );
+        return client.createChatCompletion(request).join();
+    }
+
+    @Benchmark
+    public ChatCompletion chatCompletionTyped() {
+        ChatCompletionRequest request = ChatCompletionRequest.of(Payloads.MODEL, List.of(
+            Message.system("You are a helpful programming assistant."),
+            Message.user("What are the benefits of using Java records?")
+        )).withTemperature(0.7f);
+        return client.createChatCompletion(request).join();
+    }
+
+    @Benchmark
+    public JsonNode listModels() {
+        return client.listModels().join();
+    }
+
+    @Benchmark
+    public JsonNode transcription() {
+        return client.createTranscription(
+            new ByteArrayInputStream(audio),
+            "audio.m4a",
+            "whisper-large-v3",
+            null,
+            "json",
+            "en",
+            null
+        ).join();
+    }
+
+    @Benchmark
+    public JsonNode transcriptionFromFile() {
+        return client.createTranscription(
+            audioFile,
+            "whisper-large-v3",
+            null,
+            "json",
+            "en",
+            null
+        ).join();
+    }
+}
@@ -0,0 +1,72 @@
+package com.groq.api.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groq.api.streaming.SseParser;
+
+/**
+ * Measures framing and parsing of a streamed completion body without any I/O, split into
+ * network-sized buffers the way the HTTP client delivers it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SseParserBenchmark {
+    private static final int NETWORK_BUFFER_SIZE = 16 * 1024;
+
+    @Param({"256"})
+    public int chunks;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private List<ByteBuffer> buffers;
+
+    @Setup
+    public void setUp() {
+        byte[] body = Payloads.chatCompletionStream(chunks).getBytes(StandardCharsets.UTF_8);
+        buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += NETWORK_BUFFER_SIZE) {
+            buffers.add(ByteBuffer.wrap(body, offset, Math.min(NETWORK_BUFFER_SIZE, body.length - offset)).slice());
+        }
+    }
+
+    @Benchmark
+    public void parseStream(Blackhole blackhole) throws IOException {
+        SseParser parser = new SseParser(new SseParser.FrameHandler() {
+            @Override
+            public void onData(byte[] buffer, int offset, int length) throws IOException {
+                blackhole.consume(mapper.readTree(buffer, offset, length));
+            }
+
+            @Override
+            public void onDone() {
+                blackhole.consume(true);
+            }
+        });
+        for (ByteBuffer buffer : buffers) {
+            parser.feed(buffer.duplicate());
+        }
+        parser.finish();
+    }
+}
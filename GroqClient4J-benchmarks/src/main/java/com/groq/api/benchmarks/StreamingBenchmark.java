@@ -0,0 +1,124 @@
+package com.groq.api.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.client.GroqApiClient;
+import com.groq.api.client.GroqClientFactory;
+import com.groq.api.config.GroqApiConfig;
+import com.groq.api.models.ChatCompletionChunk;
+import com.groq.api.models.ChatCompletionRequest;
+import com.groq.api.utils.JsonUtils;
+
+/**
+ * Measures server-sent event handling in {@link GroqApiClient#createChatCompletionStream(JsonNode)}
+ * and its typed counterpart.
+ * Divide the allocation rate reported by {@code -prof gc} by {@code chunks} for the per-token cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamingBenchmark {
+
+    @Param({"16", "256"})
+    public int chunks;
+
+    private StubGroqServer server;
+    private GroqApiClient client;
+    private JsonNode request;
+    private ChatCompletionRequest typedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new StubGroqServer(chunks);
+        client = GroqClientFactory.createClient(GroqApiConfig.create("bench-key", server.baseUrl()));
+        request = JsonUtils.createChatRequest(Payloads.MODEL, Payloads.messages(2), 0.7f);
+        typedRequest = ChatCompletionRequest.of(Payloads.MODEL, Payloads.typedMessages(2)).withTemperature(0.7f);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long consumeStream(Blackhole blackhole) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        client.createChatCompletionStream(request).subscribe(new Flow.Subscriber<JsonNode>() {
+            private long received;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(JsonNode chunk) {
+                received++;
+                blackhole.consume(JsonUtils.extractContentFromChunk(chunk));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(received);
+            }
+        });
+        return done.join();
+    }
+
+    @Benchmark
+    public long consumeTypedStream(Blackhole blackhole) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        client.createChatCompletionStream(typedRequest).subscribe(new Flow.Subscriber<ChatCompletionChunk>() {
+            private long received;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ChatCompletionChunk chunk) {
+                received++;
+                blackhole.consume(chunk.content());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(received);
+            }
+        });
+        return done.join();
+    }
+}
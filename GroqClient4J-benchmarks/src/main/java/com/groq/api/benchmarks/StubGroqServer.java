@@ -0,0 +1,102 @@
+package com.groq.api.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process HTTP server that mimics the Groq endpoints with canned payloads.
+ * Lets the benchmarks measure the client side of a round-trip without any network or API quota.
+ */
+public final class StubGroqServer implements AutoCloseable {
+    private static final String BASE_PATH = "/openai/v1";
+
+    static {
+        // Without TCP_NODELAY, delayed ACKs add ~40 ms to every loopback exchange and hide client costs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] completionBody;
+    private final byte[] streamBody;
+    private final byte[] modelsBody;
+    private final byte[] transcriptionBody;
+
+    /**
+     * Starts a stub server on an ephemeral loopback port.
+     *
+     * @param streamChunks The number of content chunks each streamed completion emits.
+     * @throws IOException If the server socket cannot be bound.
+     */
+    public StubGroqServer(int streamChunks) throws IOException {
+        this.completionBody = Payloads.chatCompletion().getBytes(StandardCharsets.UTF_8);
+        this.streamBody = Payloads.chatCompletionStream(streamChunks).getBytes(StandardCharsets.UTF_8);
+        this.modelsBody = Payloads.models().getBytes(StandardCharsets.UTF_8);
+        this.transcriptionBody = Payloads.transcription().getBytes(StandardCharsets.UTF_8);
+
+        this.executor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "stub-groq-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        this.server.setExecutor(executor);
+        this.server.createContext(BASE_PATH + "/chat/completions", this::handleChatCompletion);
+        this.server.createContext(BASE_PATH + "/models", exchange -> respond(exchange, "application/json", modelsBody));
+        this.server.createContext(BASE_PATH + "/audio/transcriptions",
+            exchange -> respond(exchange, "application/json", transcriptionBody));
+        this.server.createContext(BASE_PATH + "/audio/translations",
+            exchange -> respond(exchange, "application/json", transcriptionBody));
+        this.server.start();
+    }
+
+    /**
+     * Returns the base URL to configure the client with.
+     *
+     * @return The base URL of the stub API.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleChatCompletion(HttpExchange exchange) throws IOException {
+        byte[] request = drain(exchange.getRequestBody());
+        if (containsStreamFlag(request)) {
+            respond(exchange, "text/event-stream", streamBody);
+        } else {
+            respond(exchange, "application/json", completionBody);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        drain(exchange.getRequestBody());
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] drain(InputStream in) throws IOException {
+        return in.readAllBytes();
+    }
+
+    private static boolean containsStreamFlag(byte[] request) {
+        return new String(request, StandardCharsets.UTF_8).contains("\"stream\":true");
+    }
+}
@@ -0,0 +1,107 @@
+package com.groq.api.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building a multipart audio upload and draining it the way the HTTP client would.
+ * Lives in the client package because the multipart publisher is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultipartBodyPublisherBenchmark {
+
+    @Param({"1048576", "26214400"})
+    public int audioBytes;
+
+    private byte[] audio;
+    private Path audioFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        audio = new byte[audioBytes];
+        new Random(42).nextBytes(audio);
+        audioFile = Files.createTempFile("groq-bench-audio", ".m4a");
+        Files.write(audioFile, audio);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(audioFile);
+    }
+
+    @Benchmark
+    public long buildAndDrainStream() {
+        BodyPublisher body = new MultipartBodyPublisher()
+            .addPart("file", "audio.m4a", new ByteArrayInputStream(audio))
+            .addPart("model", "whisper-large-v3")
+            .addPart("response_format", "json")
+            .addPart("temperature", "0.0")
+            .build();
+        return drain(body);
+    }
+
+    @Benchmark
+    public long buildAndDrainFile() throws IOException {
+        BodyPublisher body = new MultipartBodyPublisher()
+            .addPart("file", audioFile)
+            .addPart("model", "whisper-large-v3")
+            .addPart("response_format", "json")
+            .addPart("temperature", "0.0")
+            .build();
+        return drain(body);
+    }
+
+    static long drain(BodyPublisher body) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        body.subscribe(new Flow.Subscriber<ByteBuffer>() {
+            private long total;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                total += item.remaining();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(total);
+            }
+        });
+        return done.join();
+    }
+}
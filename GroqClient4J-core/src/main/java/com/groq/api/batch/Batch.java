@@ -0,0 +1,222 @@
+package com.groq.api.batch;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.groq.api.exceptions.GroqApiException;
+
+/**
+ * A running batch started by a {@link BatchExecutor}.
+ * <p>
+ * All bookkeeping happens in a single drain loop: whichever thread completes a request, or
+ * submits the batch, takes the next requests from the input and delivers results, while other
+ * threads only enqueue their completion. The input and the result consumer are therefore never
+ * used concurrently.
+ *
+ * @param <I> The request type.
+ * @param <O> The response type.
+ */
+public final class Batch<I, O> {
+    private final BatchExecutor<I, O> executor;
+    private final Iterator<? extends I> requests;
+    private final Consumer<? super BatchResult<I, O>> results;
+    private final Runnable onClose;
+    private final long startedAt = System.nanoTime();
+    private final CompletableFuture<BatchSummary> completion = new CompletableFuture<>();
+    private final Queue<BatchResult<I, O>> finished = new ConcurrentLinkedQueue<>();
+    private final Map<Long, CompletableFuture<O>> running = new ConcurrentHashMap<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // Only accessed by the drain loop; volatile where progress() reads them
+    private final TreeMap<Long, BatchResult<I, O>> reorderBuffer = new TreeMap<>();
+    private final Map<String, Long> failuresByCause = new HashMap<>();
+    private volatile long started;
+    private volatile long succeeded;
+    private volatile long failed;
+    private volatile int inFlight;
+    private long nextToDeliver;
+    private long lastReported = -1;
+    private boolean exhausted;
+    private boolean closed;
+    private volatile boolean cancelled;
+
+    Batch(
+            BatchExecutor<I, O> executor,
+            Iterator<? extends I> requests,
+            Consumer<? super BatchResult<I, O>> results,
+            Runnable onClose) {
+        this.executor = executor;
+        this.requests = requests;
+        this.results = results;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Returns the future of the batch.
+     *
+     * @return A CompletableFuture that completes with the summary once every request has finished
+     *         and its result was delivered. It fails if the input or the result consumer throws,
+     *         and is cancelled by {@link #cancel()}.
+     */
+    public CompletableFuture<BatchSummary> completion() {
+        return completion;
+    }
+
+    /**
+     * Returns the current progress.
+     *
+     * @return A snapshot of the counters.
+     */
+    public BatchProgress progress() {
+        return new BatchProgress(started, succeeded, failed, inFlight, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Stops taking requests from the input and cancels the running ones. Their results are not
+     * delivered.
+     */
+    public void cancel() {
+        cancelled = true;
+        if (completion.cancel(false)) {
+            running.values().forEach(future -> future.cancel(true));
+            drain();
+        }
+    }
+
+    void start() {
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (completion.isDone()) {
+                running.clear();
+                finished.clear();
+                if (cancelled) {
+                    close();
+                }
+                return;
+            }
+            try {
+                deliverFinished();
+                startRequests();
+                if (exhausted && inFlight == 0 && finished.isEmpty()) {
+                    reportProgress(true);
+                    close();
+                    completion.complete(new BatchSummary(
+                        succeeded,
+                        failed,
+                        Duration.ofNanos(System.nanoTime() - startedAt),
+                        Map.copyOf(failuresByCause)
+                    ));
+                }
+            } catch (RuntimeException e) {
+                cancelled = true;
+                running.values().forEach(future -> future.cancel(true));
+                close();
+                completion.completeExceptionally(e);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliverFinished() {
+        BatchResult<I, O> result;
+        while ((result = finished.poll()) != null) {
+            inFlight--;
+            if (result.isSuccess()) {
+                succeeded++;
+            } else {
+                failed++;
+                failuresByCause.merge(causeOf(result.error()), 1L, Long::sum);
+            }
+            
+            if (executor.ordered()) {
+                reorderBuffer.put(result.index(), result);
+                BatchResult<I, O> next;
+                while ((next = reorderBuffer.remove(nextToDeliver)) != null) {
+                    nextToDeliver++;
+                    results.accept(next);
+                }
+            } else {
+                results.accept(result);
+            }
+            reportProgress(false);
+        }
+    }
+
+    private void startRequests() {
+        long window = (long) executor.parallelism() * BatchExecutor.ORDER_WINDOW_FACTOR;
+        while (!exhausted && !cancelled && inFlight < executor.parallelism()
+                && (!executor.ordered() || started - nextToDeliver < window)) {
+            if (!requests.hasNext()) {
+                exhausted = true;
+                return;
+            }
+            I request = requests.next();
+            long index = started;
+            started++;
+            inFlight++;
+            
+            CompletableFuture<O> future;
+            try {
+                future = executor.call().apply(request);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            running.put(index, future);
+            future.whenComplete((response, error) -> {
+                running.remove(index);
+                finished.add(new BatchResult<>(index, request, error == null ? response : null, error));
+                drain();
+            });
+        }
+    }
+
+    private void reportProgress(boolean last) {
+        int interval = executor.progressInterval();
+        long completed = succeeded + failed;
+        if (interval > 0 && completed != lastReported && (last || completed % interval == 0)) {
+            lastReported = completed;
+            executor.progressListener().accept(progress());
+        }
+    }
+
+    private void close() {
+        if (!closed && onClose != null) {
+            onClose.run();
+        }
+        closed = true;
+    }
+
+    private static String causeOf(Throwable error) {
+        Throwable root = error;
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof GroqApiException apiException && apiException.getStatusCode() > 0) {
+                return "HTTP " + apiException.getStatusCode();
+            }
+            if (current instanceof CancellationException) {
+                return CancellationException.class.getSimpleName();
+            }
+            root = current;
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return root.getClass().getSimpleName();
+    }
+}
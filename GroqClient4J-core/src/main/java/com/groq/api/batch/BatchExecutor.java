@@ -0,0 +1,164 @@
+package com.groq.api.batch;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.client.ChatCompletionService;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionRequest;
+
+/**
+ * Runs large numbers of requests with bounded parallelism.
+ * <p>
+ * Requests are pulled from the input one at a time, only when a running request has finished, so
+ * the input can be far larger than memory: a lazily read file or a generated stream is consumed
+ * at the pace of the API. Results are handed to a consumer either in input order or as they
+ * complete. In input order, a slow request holds back its successors, and no more than four
+ * times the parallelism of requests are started past the oldest unfinished one.
+ * <p>
+ * Executors are immutable and can be reused for any number of batches.
+ *
+ * @param <I> The request type.
+ * @param <O> The response type.
+ */
+public final class BatchExecutor<I, O> {
+    static final int ORDER_WINDOW_FACTOR = 4;
+
+    private final Function<? super I, CompletableFuture<O>> call;
+    private final int parallelism;
+    private final boolean ordered;
+    private final int progressInterval;
+    private final Consumer<? super BatchProgress> progressListener;
+
+    private BatchExecutor(
+            Function<? super I, CompletableFuture<O>> call,
+            int parallelism,
+            boolean ordered,
+            int progressInterval,
+            Consumer<? super BatchProgress> progressListener) {
+        this.call = call;
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+        this.progressInterval = progressInterval;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Creates an executor for any asynchronous call. Results are delivered as they complete.
+     *
+     * @param call Starts one request.
+     * @param parallelism The maximum number of requests running at the same time.
+     * @param <I> The request type.
+     * @param <O> The response type.
+     * @return A new BatchExecutor instance.
+     */
+    public static <I, O> BatchExecutor<I, O> create(Function<? super I, CompletableFuture<O>> call, int parallelism) {
+        Objects.requireNonNull(call, "call");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        return new BatchExecutor<>(call, parallelism, false, 0, null);
+    }
+
+    /**
+     * Creates an executor for typed chat completions.
+     *
+     * @param service The service, such as a client or a decorated client.
+     * @param parallelism The maximum number of requests running at the same time.
+     * @return A new BatchExecutor instance.
+     */
+    public static BatchExecutor<ChatCompletionRequest, ChatCompletion> forChatCompletions(
+            ChatCompletionService service,
+            int parallelism) {
+        return create(service::createChatCompletion, parallelism);
+    }
+
+    /**
+     * Creates an executor for chat completions given as JSON.
+     *
+     * @param service The service, such as a client or a decorated client.
+     * @param parallelism The maximum number of requests running at the same time.
+     * @return A new BatchExecutor instance.
+     */
+    public static BatchExecutor<JsonNode, JsonNode> forJsonChatCompletions(ChatCompletionService service, int parallelism) {
+        return create(service::createChatCompletion, parallelism);
+    }
+
+    /**
+     * Returns a copy of this executor that delivers results in input order or as they complete.
+     *
+     * @param ordered Whether results are delivered in input order.
+     * @return A new BatchExecutor instance.
+     */
+    public BatchExecutor<I, O> withOrdered(boolean ordered) {
+        return new BatchExecutor<>(call, parallelism, ordered, progressInterval, progressListener);
+    }
+
+    /**
+     * Returns a copy of this executor that reports progress every {@code interval} finished
+     * requests, and once more when the batch ends.
+     *
+     * @param interval The number of finished requests between reports.
+     * @param listener Receives the progress. It is never called concurrently.
+     * @return A new BatchExecutor instance.
+     */
+    public BatchExecutor<I, O> withProgressListener(int interval, Consumer<? super BatchProgress> listener) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Progress interval must be at least 1: " + interval);
+        }
+        return new BatchExecutor<>(call, parallelism, ordered, interval, Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Starts a batch over the requests of an iterator.
+     *
+     * @param requests The requests. The iterator is only used by one thread at a time.
+     * @param results Receives every result. It is never called concurrently, and it should not
+     *        block, because it runs on the thread that completed the request.
+     * @return The running batch.
+     */
+    public Batch<I, O> submit(Iterator<? extends I> requests, Consumer<? super BatchResult<I, O>> results) {
+        Batch<I, O> batch = new Batch<>(this, requests, results, null);
+        batch.start();
+        return batch;
+    }
+
+    /**
+     * Starts a batch over the requests of a stream. The stream is closed when the batch ends.
+     *
+     * @param requests The requests.
+     * @param results Receives every result. It is never called concurrently, and it should not
+     *        block, because it runs on the thread that completed the request.
+     * @return The running batch.
+     */
+    public Batch<I, O> submit(Stream<? extends I> requests, Consumer<? super BatchResult<I, O>> results) {
+        Batch<I, O> batch = new Batch<>(this, requests.iterator(), results, requests::close);
+        batch.start();
+        return batch;
+    }
+
+    Function<? super I, CompletableFuture<O>> call() {
+        return call;
+    }
+
+    int parallelism() {
+        return parallelism;
+    }
+
+    boolean ordered() {
+        return ordered;
+    }
+
+    int progressInterval() {
+        return progressInterval;
+    }
+
+    Consumer<? super BatchProgress> progressListener() {
+        return progressListener;
+    }
+}
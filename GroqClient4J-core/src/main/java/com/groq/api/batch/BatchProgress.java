@@ -0,0 +1,39 @@
+package com.groq.api.batch;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the progress of a running batch.
+ *
+ * @param started The number of requests taken from the input so far.
+ * @param succeeded The number of successful requests.
+ * @param failed The number of failed requests.
+ * @param inFlight The number of requests currently running.
+ * @param elapsed The time since the batch started.
+ */
+public record BatchProgress(
+    long started,
+    long succeeded,
+    long failed,
+    int inFlight,
+    Duration elapsed
+) {
+    /**
+     * Returns the number of finished requests.
+     *
+     * @return The number of successful and failed requests.
+     */
+    public long completed() {
+        return succeeded + failed;
+    }
+
+    /**
+     * Returns the average number of requests finished per second.
+     *
+     * @return The throughput, or 0 before any time has passed.
+     */
+    public double throughputPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : completed() * 1e9 / nanos;
+    }
+}
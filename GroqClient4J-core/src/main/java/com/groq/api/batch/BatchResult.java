@@ -0,0 +1,27 @@
+package com.groq.api.batch;
+
+/**
+ * The outcome of one request of a batch.
+ *
+ * @param index The position of the request in the input, starting at 0.
+ * @param request The request.
+ * @param response The response, or null if the request failed.
+ * @param error The failure, or null if the request succeeded.
+ * @param <I> The request type.
+ * @param <O> The response type.
+ */
+public record BatchResult<I, O>(
+    long index,
+    I request,
+    O response,
+    Throwable error
+) {
+    /**
+     * Returns whether the request succeeded.
+     *
+     * @return true if there is a response.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.groq.api.batch;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The summary of a finished batch.
+ *
+ * @param succeeded The number of successful requests.
+ * @param failed The number of failed requests.
+ * @param elapsed The time the batch took.
+ * @param failuresByCause The number of failures per cause: the HTTP status for API errors, such as
+ *        {@code "HTTP 429"}, and the exception class name otherwise.
+ */
+public record BatchSummary(
+    long succeeded,
+    long failed,
+    Duration elapsed,
+    Map<String, Long> failuresByCause
+) {
+    /**
+     * Returns the number of requests in the batch.
+     *
+     * @return The number of successful and failed requests.
+     */
+    public long total() {
+        return succeeded + failed;
+    }
+
+    /**
+     * Returns the average number of requests finished per second.
+     *
+     * @return The throughput, or 0 if the batch took no time.
+     */
+    public double throughputPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : total() * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,23 @@
+package com.groq.api.cache;
+
+/**
+ * Snapshot of the statistics of a {@link ResponseCache}.
+ */
+public record CacheStats(
+    long hits,
+    long misses,
+    long evictions,
+    long expirations,
+    long rejections,
+    long size
+) {
+    /**
+     * Returns the share of lookups that were served from the cache.
+     *
+     * @return The hit rate between 0 and 1, or 0 if there were no lookups.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
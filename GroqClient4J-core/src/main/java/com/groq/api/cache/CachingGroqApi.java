@@ -0,0 +1,285 @@
+package com.groq.api.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.groq.api.client.ForwardingGroqApi;
+import com.groq.api.client.GroqApi;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionRequest;
+import com.groq.api.utils.JsonUtils;
+
+/**
+ * Decorator that serves repeated chat completions and transcriptions from a {@link ResponseCache},
+ * optionally backed by a persistent {@link DiskResponseStore}.
+ * <p>
+ * Only chat requests accepted by the cacheable predicate are cached, by default deterministic
+ * requests with a temperature of 0. The key is the canonical hash of the request JSON, so field
+ * order and number formatting do not matter; typed requests serialize in a fixed order and are
+ * keyed by the hash of their bytes. Transcriptions of files on disk are cached when the
+ * temperature is absent or 0, keyed by the file path, size and modification time together with
+ * the request parameters. Only successful responses are cached. Every other call is forwarded
+ * unchanged.
+ * <p>
+ * Lookups try the memory tier first, then the disk tier, whose hits are promoted to memory.
+ */
+public class CachingGroqApi extends ForwardingGroqApi {
+    /**
+     * Accepts non-streaming requests with an explicit temperature of 0.
+     */
+    public static final Predicate<JsonNode> DETERMINISTIC_REQUESTS = request ->
+        request.path("temperature").isNumber()
+            && request.path("temperature").asDouble() == 0
+            && !request.path("stream").asBoolean(false);
+
+    private static final String CHAT_KEY_PREFIX = "chat:";
+    private static final String TYPED_CHAT_KEY_PREFIX = "typed-chat:";
+    private static final String TRANSCRIPTION_KEY_PREFIX = "transcription:";
+
+    private final ResponseCache cache;
+    private final DiskResponseStore diskStore;
+    private final Predicate<JsonNode> cacheable;
+    private final ObjectMapper mapper = JsonUtils.mapper();
+    private final ObjectWriter requestWriter = mapper.writerFor(ChatCompletionRequest.class);
+
+    /**
+     * Creates a decorator caching deterministic chat completions.
+     *
+     * @param delegate The API to forward calls to.
+     * @param cache The cache holding the responses.
+     */
+    public CachingGroqApi(GroqApi delegate, ResponseCache cache) {
+        this(delegate, cache, null, DETERMINISTIC_REQUESTS);
+    }
+
+    /**
+     * Creates a decorator caching the chat completions accepted by the given predicate.
+     *
+     * @param delegate The API to forward calls to.
+     * @param cache The cache holding the responses.
+     * @param cacheable Decides from the request JSON whether a response may be cached.
+     */
+    public CachingGroqApi(GroqApi delegate, ResponseCache cache, Predicate<JsonNode> cacheable) {
+        this(delegate, cache, null, cacheable);
+    }
+
+    /**
+     * Creates a decorator caching deterministic chat completions in memory and on disk.
+     *
+     * @param delegate The API to forward calls to.
+     * @param cache The cache holding the responses in memory.
+     * @param diskStore The persistent tier behind the memory cache, or null for none.
+     */
+    public CachingGroqApi(GroqApi delegate, ResponseCache cache, DiskResponseStore diskStore) {
+        this(delegate, cache, diskStore, DETERMINISTIC_REQUESTS);
+    }
+
+    /**
+     * Creates a decorator caching the chat completions accepted by the given predicate in memory
+     * and on disk.
+     *
+     * @param delegate The API to forward calls to.
+     * @param cache The cache holding the responses in memory.
+     * @param diskStore The persistent tier behind the memory cache, or null for none.
+     * @param cacheable Decides from the request JSON whether a response may be cached.
+     */
+    public CachingGroqApi(
+            GroqApi delegate,
+            ResponseCache cache,
+            DiskResponseStore diskStore,
+            Predicate<JsonNode> cacheable) {
+        super(delegate);
+        this.cache = Objects.requireNonNull(cache, "cache");
+        this.diskStore = diskStore;
+        this.cacheable = Objects.requireNonNull(cacheable, "cacheable");
+    }
+
+    /**
+     * Returns the cache holding the responses in memory.
+     *
+     * @return The response cache.
+     */
+    public ResponseCache cache() {
+        return cache;
+    }
+
+    /**
+     * Returns the persistent tier.
+     *
+     * @return The disk store, or null if responses are only cached in memory.
+     */
+    public DiskResponseStore diskStore() {
+        return diskStore;
+    }
+
+    /**
+     * Creates a chat completion, or returns a copy of the cached response of an identical request.
+     *
+     * @param request JSON object containing the request parameters.
+     * @return A CompletableFuture that will complete with the response JSON object.
+     */
+    @Override
+    public CompletableFuture<JsonNode> createChatCompletion(JsonNode request) {
+        if (!cacheable.test(request)) {
+            return super.createChatCompletion(request);
+        }
+        
+        String key = CHAT_KEY_PREFIX + JsonUtils.canonicalHash(request);
+        JsonNode cached = lookupTree(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        return super.createChatCompletion(request).thenApply(response -> {
+            storeTree(key, response);
+            return response;
+        });
+    }
+
+    /**
+     * Creates a chat completion, or returns the cached response of an identical request.
+     * Completions are immutable, so every hit is handed the cached instance.
+     * <p>
+     * With the default predicate, the request record is tested directly; a custom predicate is
+     * tested against the request converted to JSON.
+     *
+     * @param request The request parameters.
+     * @return A CompletableFuture that will complete with the completion.
+     */
+    @Override
+    public CompletableFuture<ChatCompletion> createChatCompletion(ChatCompletionRequest request) {
+        boolean accepted = cacheable == DETERMINISTIC_REQUESTS
+            ? request.temperature() != null && request.temperature() == 0 && !Boolean.TRUE.equals(request.stream())
+            : cacheable.test(mapper.valueToTree(request));
+        if (!accepted) {
+            return super.createChatCompletion(request);
+        }
+        
+        // Typed requests serialize in a fixed property order, so their bytes are canonical
+        String key;
+        try {
+            key = TYPED_CHAT_KEY_PREFIX + JsonUtils.hash(requestWriter.writeValueAsBytes(request));
+        } catch (IOException e) {
+            // Let the client report the request it cannot serialize
+            return super.createChatCompletion(request);
+        }
+        ChatCompletion cached = (ChatCompletion) cache.get(key);
+        if (cached == null && diskStore != null) {
+            byte[] stored = diskStore.get(key);
+            if (stored != null) {
+                try {
+                    cached = mapper.readValue(stored, ChatCompletion.class);
+                    cache.put(key, cached);
+                } catch (IOException e) {
+                    // Unreadable entry, fetch it again
+                }
+            }
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        return super.createChatCompletion(request).thenApply(response -> {
+            cache.put(key, response);
+            if (diskStore != null) {
+                try {
+                    diskStore.put(key, mapper.writeValueAsBytes(response));
+                } catch (IOException e) {
+                    // Only the disk tier misses out
+                }
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Creates a transcription from an audio file on disk, or returns a copy of the cached response
+     * of an identical request for the same, unmodified file.
+     *
+     * @param audioFile The path of the audio file.
+     * @param model The model to use for transcription.
+     * @param prompt Optional prompt to guide the transcription.
+     * @param responseFormat The format of the response (default: "json").
+     * @param language Optional language of the audio.
+     * @param temperature Optional temperature parameter for generation.
+     * @return A CompletableFuture that will complete with the response JSON object.
+     */
+    @Override
+    public CompletableFuture<JsonNode> createTranscription(
+            Path audioFile,
+            String model,
+            String prompt,
+            String responseFormat,
+            String language,
+            Float temperature) {
+        
+        if (temperature != null && temperature != 0) {
+            return super.createTranscription(audioFile, model, prompt, responseFormat, language, temperature);
+        }
+        
+        ObjectNode keyNode = mapper.createObjectNode();
+        try {
+            Path file = audioFile.toAbsolutePath().normalize();
+            keyNode.put("file", file.toString())
+                .put("size", Files.size(file))
+                .put("modified", Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException e) {
+            // Let the client report the unreadable file
+            return super.createTranscription(audioFile, model, prompt, responseFormat, language, temperature);
+        }
+        keyNode.put("model", model)
+            .put("prompt", prompt)
+            .put("response_format", responseFormat)
+            .put("language", language);
+        
+        String key = TRANSCRIPTION_KEY_PREFIX + JsonUtils.canonicalHash(keyNode);
+        JsonNode cached = lookupTree(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        return super.createTranscription(audioFile, model, prompt, responseFormat, language, temperature)
+            .thenApply(response -> {
+                storeTree(key, response);
+                return response;
+            });
+    }
+
+    private JsonNode lookupTree(String key) {
+        JsonNode cached = (JsonNode) cache.get(key);
+        if (cached == null && diskStore != null) {
+            byte[] stored = diskStore.get(key);
+            if (stored != null) {
+                try {
+                    cached = mapper.readTree(stored);
+                    cache.put(key, cached.deepCopy());
+                    return cached;
+                } catch (IOException e) {
+                    // Unreadable entry, fetch it again
+                    return null;
+                }
+            }
+        }
+        // Response trees are mutable, so callers never share the cached instance
+        return cached == null ? null : cached.deepCopy();
+    }
+
+    private void storeTree(String key, JsonNode response) {
+        cache.put(key, response.deepCopy());
+        if (diskStore != null) {
+            try {
+                diskStore.put(key, mapper.writeValueAsBytes(response));
+            } catch (IOException e) {
+                // Only the disk tier misses out
+            }
+        }
+    }
+}
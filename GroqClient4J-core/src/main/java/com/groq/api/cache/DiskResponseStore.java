@@ -0,0 +1,650 @@
+package com.groq.api.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent second tier for {@link CachingGroqApi}, stored as memory-mapped segment files in a
+ * directory. Responses survive restarts, are read from the page cache rather than held on the
+ * Java heap (only the key index is), and can be shared by several JVMs on the same host.
+ * <p>
+ * Each segment is an append-only log of checksummed records. New records are appended to the
+ * newest segment under an exclusive file lock, so concurrent writers in other processes never
+ * interleave. Stores of the same directory within one JVM share that lock. Readers never lock: records are immutable, and a record that is still being
+ * written fails its checksum and is picked up on a later scan. A record left incomplete by a
+ * writer that died is cut off before the next append. The in-memory index of every
+ * process is rebuilt from the logs on open and brought up to date with records written by other
+ * processes at most once per second, on a miss.
+ * <p>
+ * When the store grows beyond its maximum size, the oldest segment is compacted if most of it is
+ * garbage (superseded or expired records), copying its live records forward, or dropped
+ * otherwise. {@link #compact()} rewrites the whole store.
+ */
+public final class DiskResponseStore implements AutoCloseable {
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String LOCK_FILE = "store.lock";
+    private static final int MAGIC = 0x47524331;
+    private static final int SEGMENT_HEADER_SIZE = 4;
+    // length, checksum, expiry and key length
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 4;
+    private static final long MIN_SEGMENT_SIZE = 1L << 20;
+    private static final long MAX_SEGMENT_SIZE = 64L << 20;
+    private static final int MAPPING_CHUNK_SIZE = 1 << 20;
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Map<Path, DirectoryLock> DIRECTORY_LOCKS = new HashMap<>();
+
+    private final Path directory;
+    private final long maximumSize;
+    private final long segmentSize;
+    private final long ttlMillis;
+    private final DirectoryLock directoryLock;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private volatile long lastRefresh;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private DiskResponseStore(Path directory, long maximumSize, Duration ttl) throws IOException {
+        this.directory = directory;
+        this.maximumSize = maximumSize;
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, maximumSize / 8));
+        this.ttlMillis = ttl.toMillis();
+        
+        Files.createDirectories(directory);
+        this.directoryLock = DirectoryLock.acquire(directory);
+        synchronized (this) {
+            try {
+                refresh();
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Opens a store in the given directory, creating it if needed.
+     *
+     * @param directory The directory holding the segment files.
+     * @param maximumSize The maximum size of the store on disk, in bytes.
+     * @param ttl How long a response stays valid after it was stored.
+     * @return The opened store.
+     * @throws IOException If the directory or the existing segments cannot be read.
+     */
+    public static DiskResponseStore open(Path directory, long maximumSize, Duration ttl) throws IOException {
+        if (maximumSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Maximum size must be at least " + MIN_SEGMENT_SIZE + " bytes: " + maximumSize);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + ttl);
+        }
+        return new DiskResponseStore(directory, maximumSize, ttl);
+    }
+
+    /**
+     * Returns the stored value of a key.
+     *
+     * @param key The cache key.
+     * @return A copy of the stored value, or null if absent, expired or unreadable.
+     */
+    byte[] get(String key) {
+        if (closed) {
+            return null;
+        }
+        
+        Location location = index.get(key);
+        if (location == null && refreshIfStale()) {
+            location = index.get(key);
+        }
+        if (location == null) {
+            misses.increment();
+            return null;
+        }
+        if (location.isExpired(System.currentTimeMillis())) {
+            index.remove(key, location);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        
+        try {
+            byte[] value = location.segment.read(location.valueOffset(), location.valueLength());
+            hits.increment();
+            return value;
+        } catch (IOException e) {
+            // The segment is gone or damaged; treat it as a miss
+            index.remove(key, location);
+            misses.increment();
+            return null;
+        }
+    }
+
+    /**
+     * Appends a value. Failures are ignored, as the store is only a cache.
+     *
+     * @param key The cache key.
+     * @param value The value to store.
+     */
+    void put(String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (closed || SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE + keyBytes.length + (long) value.length > segmentSize) {
+            rejections.increment();
+            return;
+        }
+        
+        synchronized (this) {
+            try {
+                directoryLock.lock();
+                try {
+                    refresh();
+                    append(keyBytes, value, System.currentTimeMillis() + ttlMillis, false);
+                    enforceMaximumSize();
+                } finally {
+                    directoryLock.unlock();
+                }
+            } catch (IOException | OverlappingFileLockException e) {
+                // Best effort: a failed write only costs a future miss
+                rejections.increment();
+            }
+        }
+    }
+
+    /**
+     * Rewrites all live records into new segments and deletes the old ones, reclaiming the space
+     * of superseded and expired records.
+     *
+     * @throws IOException If the store cannot be rewritten.
+     */
+    public void compact() throws IOException {
+        synchronized (this) {
+            directoryLock.lock();
+            try {
+                refresh();
+                List<Segment> old = new ArrayList<>(segments.values());
+                List<Map.Entry<String, Location>> live = liveRecords(null);
+                boolean first = true;
+                for (Map.Entry<String, Location> entry : live) {
+                    copy(entry.getKey(), entry.getValue(), first);
+                    first = false;
+                }
+                for (Segment segment : old) {
+                    delete(segment);
+                }
+            } finally {
+                directoryLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the size of all segment files.
+     *
+     * @return The size on disk, in bytes.
+     */
+    public long sizeOnDisk() {
+        long size = 0;
+        for (Segment segment : segments.values()) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the store statistics. Evictions count live records dropped to stay
+     * within the maximum size; rejections count values that were too large or failed to write.
+     *
+     * @return The current statistics.
+     */
+    public CacheStats stats() {
+        return new CacheStats(
+            hits.sum(),
+            misses.sum(),
+            evictions.sum(),
+            expirations.sum(),
+            rejections.sum(),
+            index.size()
+        );
+    }
+
+    /**
+     * Closes the segment files. The stored responses remain on disk.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+            directoryLock.release();
+        }
+    }
+
+    //------------------------------------------------------------------------
+    // Log maintenance, called with the monitor held
+    //------------------------------------------------------------------------
+
+    private boolean refreshIfStale() {
+        long now = System.nanoTime();
+        if (now - lastRefresh < REFRESH_INTERVAL_NANOS) {
+            return false;
+        }
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            try {
+                refresh();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Picks up segments created and records appended by other processes, and forgets segments
+     * they deleted.
+     */
+    private void refresh() throws IOException {
+        lastRefresh = System.nanoTime();
+        
+        Set<Long> present = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    present.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            if (!present.contains(segment.id)) {
+                forget(segment);
+            }
+        }
+        for (long id : present) {
+            if (!segments.containsKey(id)) {
+                segments.put(id, new Segment(id, segmentPath(id), false));
+            }
+        }
+        // Oldest first, so newer copies of a key replace older ones in the index
+        for (Segment segment : segments.values()) {
+            segment.scan();
+        }
+    }
+
+    private void append(byte[] keyBytes, byte[] value, long expiresAt, boolean newSegment) throws IOException {
+        int recordLength = RECORD_HEADER_SIZE + keyBytes.length + value.length;
+        
+        ByteBuffer record = ByteBuffer.allocate(recordLength);
+        record.putInt(recordLength - 4);
+        record.putInt(0);
+        record.putLong(expiresAt);
+        record.putInt(keyBytes.length);
+        record.put(keyBytes);
+        record.put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, recordLength - 8);
+        record.putInt(4, (int) crc.getValue());
+        record.flip();
+        
+        Segment active = activeSegment(recordLength, newSegment);
+        active.write(record);
+        active.scan();
+    }
+
+    private Segment activeSegment(int recordLength, boolean newSegment) throws IOException {
+        Map.Entry<Long, Segment> last = segments.lastEntry();
+        if (!newSegment && last != null) {
+            Segment segment = last.getValue();
+            if (segment.truncateTornTail() && segment.size() + recordLength <= segmentSize) {
+                return segment;
+            }
+        }
+        long id = last == null ? 1 : last.getKey() + 1;
+        Segment segment = new Segment(id, segmentPath(id), true);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void enforceMaximumSize() throws IOException {
+        long total = sizeOnDisk();
+        while (total > maximumSize && segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            List<Map.Entry<String, Location>> live = liveRecords(oldest);
+            long liveBytes = 0;
+            for (Map.Entry<String, Location> entry : live) {
+                liveBytes += entry.getValue().recordLength();
+            }
+            
+            if (liveBytes <= oldest.size() / 2 && total - oldest.size() + liveBytes <= maximumSize) {
+                // Mostly garbage: keep the live records and reclaim the rest
+                for (Map.Entry<String, Location> entry : live) {
+                    copy(entry.getKey(), entry.getValue(), false);
+                }
+            } else {
+                evictions.add(live.size());
+            }
+            delete(oldest);
+            total = sizeOnDisk();
+        }
+    }
+
+    private List<Map.Entry<String, Location>> liveRecords(Segment segment) {
+        long now = System.currentTimeMillis();
+        List<Map.Entry<String, Location>> live = new ArrayList<>();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            if ((segment == null || location.segment == segment) && !location.isExpired(now)) {
+                live.add(entry);
+            }
+        }
+        return live;
+    }
+
+    private void copy(String key, Location location, boolean newSegment) throws IOException {
+        byte[] value = location.segment.read(location.valueOffset(), location.valueLength());
+        append(key.getBytes(StandardCharsets.UTF_8), value, location.expiresAt(), newSegment);
+    }
+
+    private void delete(Segment segment) throws IOException {
+        forget(segment);
+        Files.deleteIfExists(segment.path);
+    }
+
+    private void forget(Segment segment) {
+        segments.remove(segment.id);
+        index.values().removeIf(location -> location.segment == segment);
+        segment.close();
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * The lock file of a directory, shared by the stores of the directory within this JVM. File
+     * locks are held per JVM, so a second lock on the same file would throw instead of waiting;
+     * the stores take turns on an in-process lock before they lock the file.
+     */
+    private static final class DirectoryLock {
+        private final Path key;
+        private final FileChannel channel;
+        private final ReentrantLock local = new ReentrantLock();
+        private FileLock fileLock;
+        private int references;
+
+        private DirectoryLock(Path key, FileChannel channel) {
+            this.key = key;
+            this.channel = channel;
+        }
+
+        static DirectoryLock acquire(Path directory) throws IOException {
+            Path key = directory.toRealPath();
+            synchronized (DIRECTORY_LOCKS) {
+                DirectoryLock lock = DIRECTORY_LOCKS.get(key);
+                if (lock == null) {
+                    FileChannel channel = FileChannel.open(
+                        key.resolve(LOCK_FILE),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE
+                    );
+                    lock = new DirectoryLock(key, channel);
+                    DIRECTORY_LOCKS.put(key, lock);
+                }
+                lock.references++;
+                return lock;
+            }
+        }
+
+        void lock() throws IOException {
+            local.lock();
+            try {
+                fileLock = channel.lock();
+            } catch (IOException | RuntimeException e) {
+                local.unlock();
+                throw e;
+            }
+        }
+
+        void unlock() throws IOException {
+            try {
+                fileLock.release();
+            } finally {
+                fileLock = null;
+                local.unlock();
+            }
+        }
+
+        void release() throws IOException {
+            synchronized (DIRECTORY_LOCKS) {
+                if (--references == 0) {
+                    DIRECTORY_LOCKS.remove(key);
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Position of a record in a segment.
+     */
+    private record Location(Segment segment, long recordOffset, int recordLength, long valueOffset, int valueLength, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * One log file. Reads go through read-only mappings of its complete chunks, each mapped once;
+     * the chunk still being filled is read from the channel until it is complete.
+     */
+    private final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+        private volatile long scannedEnd;
+
+        Segment(long id, Path path, boolean create) throws IOException {
+            this.id = id;
+            this.path = path;
+            if (create) {
+                this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE).putInt(MAGIC).flip();
+                write(header);
+            } else {
+                this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        }
+
+        long size() {
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        void write(ByteBuffer buffer) throws IOException {
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        /**
+         * Cuts off whatever follows the last valid record, so the next record is appended where
+         * the scan resumes rather than behind bytes it would never get past. Called with the file
+         * lock held, when no other writer can be in the middle of an append.
+         *
+         * @return False if the file does not start with a segment header and cannot be appended to.
+         */
+        boolean truncateTornTail() throws IOException {
+            scan();
+            if (scannedEnd == 0) {
+                return false;
+            }
+            if (channel.size() > scannedEnd) {
+                channel.truncate(scannedEnd);
+            }
+            return true;
+        }
+
+        byte[] read(long offset, int length) throws IOException {
+            byte[] value = new byte[length];
+            MappedByteBuffer chunk = chunk(offset, length);
+            if (chunk != null) {
+                chunk.get((int) (offset % MAPPING_CHUNK_SIZE), value);
+            } else {
+                readFully(ByteBuffer.wrap(value), offset);
+            }
+            return value;
+        }
+
+        /**
+         * Returns the mapping of the chunk holding a range, mapping it on first use, or null if
+         * the range spans two chunks or its chunk is not completely scanned yet. Only scanned
+         * bytes are mapped, as a torn tail may still be truncated.
+         */
+        private MappedByteBuffer chunk(long offset, int length) throws IOException {
+            int index = (int) (offset / MAPPING_CHUNK_SIZE);
+            long start = (long) index * MAPPING_CHUNK_SIZE;
+            if (offset + length > start + MAPPING_CHUNK_SIZE || start + MAPPING_CHUNK_SIZE > scannedEnd) {
+                return null;
+            }
+            MappedByteBuffer[] mapped = chunks;
+            if (index < mapped.length && mapped[index] != null) {
+                return mapped[index];
+            }
+            synchronized (this) {
+                mapped = chunks;
+                if (index >= mapped.length) {
+                    mapped = Arrays.copyOf(mapped, index + 1);
+                } else if (mapped[index] != null) {
+                    return mapped[index];
+                } else {
+                    mapped = mapped.clone();
+                }
+                mapped[index] = channel.map(FileChannel.MapMode.READ_ONLY, start, MAPPING_CHUNK_SIZE);
+                chunks = mapped;
+                return mapped[index];
+            }
+        }
+
+        private void readFully(ByteBuffer buffer, long offset) throws IOException {
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Record outside of the segment " + path);
+                }
+                position += read;
+            }
+            buffer.flip();
+        }
+
+        /**
+         * Indexes the records appended since the last scan. Stops at the first incomplete or
+         * corrupt record, which is retried on the next scan.
+         */
+        void scan() throws IOException {
+            long size = channel.size();
+            long position = scannedEnd;
+            if (size <= position) {
+                return;
+            }
+            
+            if (position == 0) {
+                if (size < SEGMENT_HEADER_SIZE) {
+                    return;
+                }
+                ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+                readFully(header, 0);
+                if (header.getInt(0) != MAGIC) {
+                    return;
+                }
+                position = SEGMENT_HEADER_SIZE;
+            }
+            
+            CRC32 crc = new CRC32();
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            while (position + RECORD_HEADER_SIZE <= size) {
+                header.clear();
+                readFully(header, position);
+                int length = header.getInt(0);
+                if (length < RECORD_HEADER_SIZE - 4 || position + 4 + length > size) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(length - 4);
+                readFully(body, position + 8);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != header.getInt(4)) {
+                    break;
+                }
+                
+                long expiresAt = header.getLong(8);
+                int keyLength = header.getInt(16);
+                int valueLength = length - (RECORD_HEADER_SIZE - 4) - keyLength;
+                if (keyLength < 0 || valueLength < 0) {
+                    break;
+                }
+                String key = new String(body.array(), RECORD_HEADER_SIZE - 8, keyLength, StandardCharsets.UTF_8);
+                index.put(
+                    key,
+                    new Location(this, position, length + 4, position + RECORD_HEADER_SIZE + keyLength, valueLength, expiresAt)
+                );
+                position += 4 + length;
+            }
+            scannedEnd = position;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.groq.api.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded in-memory cache of API responses with frequency-aware eviction and a time to live.
+ * <p>
+ * Entries are spread over independently locked segments kept in least-recently-used order, so
+ * concurrent lookups of different keys rarely contend. When a segment is full, a new entry only
+ * replaces the least recently used one if its key has been requested more often recently, as
+ * estimated by a shared {@link FrequencySketch}. A burst of one-off requests therefore cannot flush
+ * the entries that are actually reused.
+ * <p>
+ * Use with {@link CachingGroqApi}.
+ */
+public final class ResponseCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final long ttlNanos;
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private ResponseCache(long maximumSize, Duration ttl) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + ttl);
+        }
+        
+        int segmentCount = (int) Math.min(MAX_SEGMENTS, Long.highestOneBit(maximumSize));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+        }
+        this.segmentMask = segmentCount - 1;
+        this.ttlNanos = ttl.toNanos();
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize The maximum number of cached responses.
+     * @param ttl How long a response stays valid after it was cached.
+     * @return A new ResponseCache instance.
+     */
+    public static ResponseCache create(long maximumSize, Duration ttl) {
+        return new ResponseCache(maximumSize, ttl);
+    }
+
+    /**
+     * Returns the cached value of a key and records the access.
+     *
+     * @param key The cache key.
+     * @return The cached value, or null if absent or expired.
+     */
+    Object get(String key) {
+        int hash = spread(key.hashCode());
+        sketch.increment(hash);
+        
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            Entry entry = segment.map.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                segment.map.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    /**
+     * Caches a value, unless the segment is full and the key is accessed less often than the
+     * entry it would replace.
+     *
+     * @param key The cache key.
+     * @param value The value to cache.
+     */
+    void put(String key, Object value) {
+        int hash = spread(key.hashCode());
+        long now = System.nanoTime();
+        Entry entry = new Entry(hash, value, now + ttlNanos);
+        
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            if (segment.map.containsKey(key) || segment.map.size() < segment.capacity) {
+                segment.map.put(key, entry);
+                return;
+            }
+            
+            Iterator<Entry> eldest = segment.map.values().iterator();
+            Entry victim = eldest.next();
+            if (victim.isExpired(now)) {
+                eldest.remove();
+                expirations.increment();
+            } else if (sketch.frequency(hash) > sketch.frequency(victim.hash)) {
+                eldest.remove();
+                evictions.increment();
+            } else {
+                rejections.increment();
+                return;
+            }
+            segment.map.put(key, entry);
+        }
+    }
+
+    /**
+     * Removes all cached responses. Statistics are kept.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached responses, including expired ones not yet removed.
+     *
+     * @return The number of entries.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return The current statistics.
+     */
+    public CacheStats stats() {
+        return new CacheStats(
+            hits.sum(),
+            misses.sum(),
+            evictions.sum(),
+            expirations.sum(),
+            rejections.sum(),
+            size()
+        );
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Segment {
+        private final long capacity;
+        private final Map<String, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(long capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final Object value;
+        private final long expiresAt;
+
+        Entry(int hash, Object value, long expiresAt) {
+            this.hash = hash;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.groq.api.client;
+
+import java.net.http.HttpHeaders;
+import java.util.concurrent.CompletableFuture;
+
+import com.groq.api.config.ApiTarget;
+import com.groq.api.resilience.CircuitBreaker;
+import com.groq.api.resilience.ConcurrencyLimiter;
+import com.groq.api.resilience.LoadBalancer;
+import com.groq.api.resilience.RateLimiter;
+
+/**
+ * The permission to send one request: a load balancer lease, a circuit breaker permit, a rate
+ * limiter permit and a concurrency slot, each of which is optional. The outcome of the exchange
+ * is reported back to all.
+ */
+final class Admission {
+    /**
+     * Admission of a request that is not limited.
+     */
+    static final Admission UNLIMITED = new Admission(null, null, null, null);
+
+    private final LoadBalancer.Lease lease;
+    private final CircuitBreaker.Permit call;
+    private final RateLimiter.Permit permit;
+    private final ConcurrencyLimiter.Slot slot;
+
+    private Admission(
+            LoadBalancer.Lease lease,
+            CircuitBreaker.Permit call,
+            RateLimiter.Permit permit,
+            ConcurrencyLimiter.Slot slot) {
+        this.lease = lease;
+        this.call = call;
+        this.permit = permit;
+        this.slot = slot;
+        if (lease != null) {
+            lease.markSent();
+        }
+        if (call != null) {
+            call.markSent();
+        }
+    }
+
+    /**
+     * Picks the target first, since the rate limit depends on its API key. Then asks the circuit
+     * breaker, so requests to a failing endpoint are rejected without waiting. Finally waits for
+     * the rate limiter and the concurrency limiter, in that order, so time spent waiting for the
+     * rate limit does not count as latency.
+     *
+     * @param loadBalancer The load balancer, or null to use the API key of the config.
+     * @param circuitBreaker The circuit breaker, or null.
+     * @param rateLimiter The rate limiter, or null.
+     * @param concurrencyLimiter The concurrency limiter, or null.
+     * @param apiKey The API key of the config.
+     * @param endpoint The endpoint of the request.
+     * @param model The model of the request, or null if it is not limited.
+     * @param tokens The estimated tokens of the request.
+     * @return A CompletableFuture that completes once the request may be sent.
+     */
+    static CompletableFuture<Admission> acquire(
+            LoadBalancer loadBalancer,
+            CircuitBreaker circuitBreaker,
+            RateLimiter rateLimiter,
+            ConcurrencyLimiter concurrencyLimiter,
+            String apiKey,
+            String endpoint,
+            String model,
+            int tokens) {
+        boolean limited = model != null && (rateLimiter != null || concurrencyLimiter != null);
+        if (loadBalancer == null && circuitBreaker == null && !limited) {
+            return CompletableFuture.completedFuture(UNLIMITED);
+        }
+        LoadBalancer.Lease lease = loadBalancer == null ? null : loadBalancer.select();
+        String key = lease == null ? apiKey : lease.target().apiKey();
+        CompletableFuture<CircuitBreaker.Permit> circuit = circuitBreaker == null
+            ? CompletableFuture.completedFuture(null)
+            : circuitBreaker.acquire(endpoint, model);
+        CompletableFuture<Admission> admitted = circuit.thenCompose(call -> {
+            if (!limited) {
+                return CompletableFuture.completedFuture(new Admission(lease, call, null, null));
+            }
+            return acquireLimits(lease, call, rateLimiter, concurrencyLimiter, key, model, tokens)
+                .whenComplete((admission, throwable) -> {
+                    if (throwable != null && call != null) {
+                        call.release();
+                    }
+                });
+        });
+        if (lease == null) {
+            return admitted;
+        }
+        return admitted.whenComplete((admission, throwable) -> {
+            if (throwable != null) {
+                lease.release();
+            }
+        });
+    }
+
+    private static CompletableFuture<Admission> acquireLimits(
+            LoadBalancer.Lease lease,
+            CircuitBreaker.Permit call,
+            RateLimiter rateLimiter,
+            ConcurrencyLimiter concurrencyLimiter,
+            String apiKey,
+            String model,
+            int tokens) {
+        CompletableFuture<RateLimiter.Permit> permit = rateLimiter == null
+            ? CompletableFuture.completedFuture(null)
+            : rateLimiter.acquire(apiKey, model, tokens);
+        if (concurrencyLimiter == null) {
+            return permit.thenApply(acquired -> new Admission(lease, call, acquired, null));
+        }
+        return permit.thenCompose(acquired -> concurrencyLimiter.acquire(model)
+            .whenComplete((slot, throwable) -> {
+                if (throwable != null && acquired != null) {
+                    acquired.release();
+                }
+            })
+            .thenApply(slot -> new Admission(lease, call, acquired, slot)));
+    }
+
+    /**
+     * Returns the target picked by the load balancer.
+     *
+     * @return The target, or null to send the request with the API key and base URL of the config.
+     */
+    ApiTarget target() {
+        return lease == null ? null : lease.target();
+    }
+
+    /**
+     * Reports the status and headers of the response.
+     */
+    void onResponse(int statusCode, HttpHeaders headers) {
+        if (lease != null) {
+            lease.recordResponse(statusCode, headers);
+        }
+        if (call != null) {
+            call.recordResponse(statusCode);
+        }
+        if (permit != null) {
+            permit.update(statusCode, headers);
+        }
+        if (slot != null) {
+            slot.recordResponse(statusCode);
+        }
+    }
+
+    /**
+     * Reports an exchange that produced no response.
+     */
+    void onFailure(Throwable throwable) {
+        if (lease != null) {
+            lease.recordFailure(throwable);
+        }
+        if (call != null) {
+            call.recordFailure(throwable);
+        }
+        if (permit != null) {
+            permit.release();
+        }
+        if (slot != null) {
+            slot.recordFailure(throwable);
+        }
+    }
+
+    /**
+     * Ends the admission once the exchange is over, freeing the concurrency slot.
+     */
+    void release() {
+        if (lease != null) {
+            lease.release();
+        }
+        if (slot != null) {
+            slot.release();
+        }
+    }
+}
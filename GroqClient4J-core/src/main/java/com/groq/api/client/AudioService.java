@@ -1,6 +1,7 @@
 package com.groq.api.client;
 
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -11,8 +12,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 public interface AudioService {
     /**
      * Creates a transcription from an audio file.
+     * <p>
+     * The stream is not read by this call: its contents are sent while the request is written,
+     * on a client thread, after this method has returned. The client takes ownership of the
+     * stream and closes it once the returned future has completed, whether the upload succeeded
+     * or not. Do not close the stream before then, for example by passing it from a
+     * try-with-resources block that does not wait for the future. A stream cannot be replayed,
+     * so the request is not retried.
      *
-     * @param audioFile The audio file input stream.
+     * @param audioFile The audio file input stream, closed by the client.
      * @param fileName The name of the audio file.
      * @param model The model to use for transcription.
      * @param prompt Optional prompt to guide the transcription.
@@ -31,10 +39,38 @@ public interface AudioService {
         Float temperature
     );
     
+    /**
+     * Creates a transcription from an audio file on disk.
+     * The file is streamed in chunks with an exact Content-Length instead of being loaded onto the heap.
+     *
+     * @param audioFile The path of the audio file.
+     * @param model The model to use for transcription.
+     * @param prompt Optional prompt to guide the transcription.
+     * @param responseFormat The format of the response (default: "json").
+     * @param language Optional language of the audio.
+     * @param temperature Optional temperature parameter for generation.
+     * @return A CompletableFuture that will complete with the response JSON object.
+     */
+    CompletableFuture<JsonNode> createTranscription(
+        Path audioFile,
+        String model,
+        String prompt,
+        String responseFormat,
+        String language,
+        Float temperature
+    );
+    
     /**
      * Creates a translation from an audio file.
+     * <p>
+     * The stream is not read by this call: its contents are sent while the request is written,
+     * on a client thread, after this method has returned. The client takes ownership of the
+     * stream and closes it once the returned future has completed, whether the upload succeeded
+     * or not. Do not close the stream before then, for example by passing it from a
+     * try-with-resources block that does not wait for the future. A stream cannot be replayed,
+     * so the request is not retried.
      *
-     * @param audioFile The audio file input stream.
+     * @param audioFile The audio file input stream, closed by the client.
      * @param fileName The name of the audio file.
      * @param model The model to use for translation.
      * @param prompt Optional prompt to guide the translation.
@@ -50,4 +86,23 @@ public interface AudioService {
         String responseFormat,
         Float temperature
     );
+    
+    /**
+     * Creates a translation from an audio file on disk.
+     * The file is streamed in chunks with an exact Content-Length instead of being loaded onto the heap.
+     *
+     * @param audioFile The path of the audio file.
+     * @param model The model to use for translation.
+     * @param prompt Optional prompt to guide the translation.
+     * @param responseFormat The format of the response (default: "json").
+     * @param temperature Optional temperature parameter for generation.
+     * @return A CompletableFuture that will complete with the response JSON object.
+     */
+    CompletableFuture<JsonNode> createTranslation(
+        Path audioFile,
+        String model,
+        String prompt,
+        String responseFormat,
+        Float temperature
+    );
 }
\ No newline at end of file
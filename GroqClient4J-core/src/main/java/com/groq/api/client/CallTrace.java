@@ -0,0 +1,89 @@
+package com.groq.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.groq.api.events.GroqEventListener;
+
+/**
+ * One call reported to a {@link GroqEventListener}. Clients without a listener pass null instead
+ * of a trace, so they neither allocate one nor read the clock.
+ */
+final class CallTrace {
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final GroqEventListener listener;
+    private final long id;
+
+    private CallTrace(GroqEventListener listener, long id) {
+        this.listener = listener;
+        this.id = id;
+    }
+
+    /**
+     * Starts a call.
+     *
+     * @param listener The listener of the client, or null.
+     * @param parent The call this one is part of, or null.
+     * @param type The kind of call.
+     * @param model The model of the call, or null.
+     * @return The trace, or null if the client has no listener.
+     */
+    static CallTrace start(
+            GroqEventListener listener,
+            CallTrace parent,
+            GroqEventListener.CallType type,
+            String model) {
+        if (listener == null) {
+            return null;
+        }
+        CallTrace trace = new CallTrace(listener, IDS.incrementAndGet());
+        try {
+            listener.onCallStart(trace.id, parent == null ? 0 : parent.id, type, model, System.nanoTime());
+        } catch (RuntimeException e) {
+            // A failing listener must not fail the call
+        }
+        return trace;
+    }
+
+    /**
+     * Reports a phase that ends now.
+     */
+    void phase(GroqEventListener.Phase phase, long startNanos) {
+        phase(phase, startNanos, System.nanoTime());
+    }
+
+    void phase(GroqEventListener.Phase phase, long startNanos, long endNanos) {
+        try {
+            listener.onPhase(id, phase, startNanos, endNanos);
+        } catch (RuntimeException e) {
+            // A failing listener must not fail the call
+        }
+    }
+
+    void toolCall(String toolName, long startNanos, Throwable failure) {
+        try {
+            listener.onToolCall(id, toolName, startNanos, System.nanoTime(), failure);
+        } catch (RuntimeException e) {
+            // A failing listener must not fail the call
+        }
+    }
+
+    void end(Throwable failure) {
+        try {
+            listener.onCallEnd(id, failure, System.nanoTime());
+        } catch (RuntimeException e) {
+            // A failing listener must not fail the call
+        }
+    }
+
+    /**
+     * Ends the call when a future completes.
+     *
+     * @return The future.
+     */
+    <T> CompletableFuture<T> endWith(CompletableFuture<T> future) {
+        future.whenComplete((value, failure) -> end(failure));
+        return future;
+    }
+}
@@ -4,6 +4,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Flow;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionChunk;
+import com.groq.api.models.ChatCompletionRequest;
 
 /**
  * Service interface for chat completion operations.
@@ -19,9 +22,31 @@ public interface ChatCompletionService {
     
     /**
      * Creates a streaming chat completion with the provided request.
+     * The request is sent when a subscriber subscribes, and the response is read only as fast as
+     * the subscriber requests chunks. The publisher accepts a single subscriber.
      *
      * @param request JSON object containing the request parameters.
      * @return A publisher that will emit JSON objects as they arrive.
      */
     Flow.Publisher<JsonNode> createChatCompletionStream(JsonNode request);
-}
\ No newline at end of file
+    
+    /**
+     * Creates a chat completion with a typed request.
+     * The request is serialized and the response deserialized directly, without an intermediate
+     * JSON tree.
+     *
+     * @param request The request parameters.
+     * @return A CompletableFuture that will complete with the completion.
+     */
+    CompletableFuture<ChatCompletion> createChatCompletion(ChatCompletionRequest request);
+    
+    /**
+     * Creates a streaming chat completion with a typed request.
+     * The request is sent when a subscriber subscribes, and the response is read only as fast as
+     * the subscriber requests chunks. The publisher accepts a single subscriber.
+     *
+     * @param request The request parameters. The stream flag is set automatically.
+     * @return A publisher that will emit chunks as they arrive.
+     */
+    Flow.Publisher<ChatCompletionChunk> createChatCompletionStream(ChatCompletionRequest request);
+}
@@ -0,0 +1,226 @@
+package com.groq.api.client;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.groq.api.models.ChatCompletionChunk;
+import com.groq.api.models.ConversationEvent;
+
+/**
+ * Publisher of the events of a streamed conversation with tools. The conversation starts when a
+ * subscriber subscribes, and the chunks of the turn being streamed are requested only as fast as
+ * the subscriber requests events, so the final answer is delivered under backpressure. Tool events
+ * arrive from the tool threads and are queued until requested. The publisher accepts a single
+ * subscriber.
+ */
+final class ConversationPublisher implements Flow.Publisher<ConversationEvent>, Flow.Subscription {
+    private final Function<ConversationPublisher, CompletableFuture<?>> conversation;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Queue<ConversationEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+    private Flow.Subscriber<? super ConversationEvent> downstream;
+    private volatile boolean upstreamPending;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile Throwable error;
+    private boolean terminated;
+
+    /**
+     * Creates the publisher of a conversation.
+     *
+     * @param conversation Starts the conversation, reporting to the publisher, and returns the
+     *        future of its end.
+     */
+    ConversationPublisher(Function<ConversationPublisher, CompletableFuture<?>> conversation) {
+        this.conversation = conversation;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ConversationEvent> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A conversation can be subscribed to only once"));
+            return;
+        }
+        downstream = subscriber;
+        subscriber.onSubscribe(this);
+        if (cancelled) {
+            return;
+        }
+        try {
+            conversation.apply(this).whenComplete((answer, failure) -> {
+                if (failure != null) {
+                    fail(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                } else {
+                    done = true;
+                    drain();
+                }
+            });
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Queues an event for the subscriber.
+     *
+     * @param event The event.
+     */
+    void emit(ConversationEvent event) {
+        queue.offer(event);
+        drain();
+    }
+
+    /**
+     * Returns the subscriber of the chunks of one turn, which turns their content into events and
+     * requests them as the subscriber of the conversation requests events.
+     *
+     * @param turn The number of the turn.
+     * @return The subscriber of the turn.
+     */
+    Flow.Subscriber<ChatCompletionChunk> turn(int turn) {
+        return new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                if (cancelled) {
+                    subscription.cancel();
+                    return;
+                }
+                this.subscription = subscription;
+                upstreamPending = false;
+                upstream.set(subscription);
+                drain();
+            }
+
+            @Override
+            public void onNext(ChatCompletionChunk chunk) {
+                String content = chunk.content();
+                if (content != null && !content.isEmpty()) {
+                    queue.offer(ConversationEvent.content(turn, content));
+                }
+                upstreamPending = false;
+                drain();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // The conversation fails through the completion of the turn
+                upstream.compareAndSet(subscription, null);
+            }
+
+            @Override
+            public void onComplete() {
+                upstream.compareAndSet(subscription, null);
+            }
+        };
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Requested items must be positive: " + n));
+            return;
+        }
+        requested.getAndAccumulate(n, (current, added) -> {
+            long sum = current + added;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        Flow.Subscription current = upstream.get();
+        if (current != null) {
+            current.cancel();
+        }
+        drain();
+    }
+
+    private void fail(Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            if (terminated) {
+                return;
+            }
+            if (cancelled) {
+                terminated = true;
+                queue.clear();
+                return;
+            }
+
+            Throwable failure = error;
+            if (failure != null) {
+                terminated = true;
+                queue.clear();
+                Flow.Subscription current = upstream.get();
+                if (current != null) {
+                    current.cancel();
+                }
+                downstream.onError(failure);
+                return;
+            }
+
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand && !cancelled) {
+                ConversationEvent event = queue.poll();
+                if (event == null) {
+                    break;
+                }
+                downstream.onNext(event);
+                emitted++;
+            }
+            if (emitted != 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            if (!cancelled && done && error == null && queue.isEmpty()) {
+                terminated = true;
+                downstream.onComplete();
+                return;
+            }
+
+            // Pull the next chunk of the turn only once the events so far were delivered
+            Flow.Subscription current = upstream.get();
+            if (current != null && !cancelled && !upstreamPending && queue.isEmpty() && requested.get() > 0) {
+                upstreamPending = true;
+                current.request(1);
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,170 @@
+package com.groq.api.client;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionChunk;
+import com.groq.api.models.ChatCompletionRequest;
+import com.groq.api.models.ConversationEvent;
+import com.groq.api.models.Tool;
+
+/**
+ * Base class for decorators of the Groq API.
+ * Every method forwards to the delegate; subclasses override the calls they add behavior to.
+ */
+public abstract class ForwardingGroqApi implements GroqApi {
+    private final GroqApi delegate;
+
+    /**
+     * Creates a decorator forwarding to the given API.
+     *
+     * @param delegate The API calls are forwarded to.
+     */
+    protected ForwardingGroqApi(GroqApi delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    /**
+     * Returns the API calls are forwarded to.
+     *
+     * @return The delegate.
+     */
+    protected GroqApi delegate() {
+        return delegate;
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createChatCompletion(JsonNode request) {
+        return delegate.createChatCompletion(request);
+    }
+
+    @Override
+    public Flow.Publisher<JsonNode> createChatCompletionStream(JsonNode request) {
+        return delegate.createChatCompletionStream(request);
+    }
+
+    @Override
+    public CompletableFuture<ChatCompletion> createChatCompletion(ChatCompletionRequest request) {
+        return delegate.createChatCompletion(request);
+    }
+
+    @Override
+    public Flow.Publisher<ChatCompletionChunk> createChatCompletionStream(ChatCompletionRequest request) {
+        return delegate.createChatCompletionStream(request);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createTranscription(
+            InputStream audioFile,
+            String fileName,
+            String model,
+            String prompt,
+            String responseFormat,
+            String language,
+            Float temperature) {
+        return delegate.createTranscription(audioFile, fileName, model, prompt, responseFormat, language, temperature);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createTranscription(
+            Path audioFile,
+            String model,
+            String prompt,
+            String responseFormat,
+            String language,
+            Float temperature) {
+        return delegate.createTranscription(audioFile, model, prompt, responseFormat, language, temperature);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createTranslation(
+            InputStream audioFile,
+            String fileName,
+            String model,
+            String prompt,
+            String responseFormat,
+            Float temperature) {
+        return delegate.createTranslation(audioFile, fileName, model, prompt, responseFormat, temperature);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createTranslation(
+            Path audioFile,
+            String model,
+            String prompt,
+            String responseFormat,
+            Float temperature) {
+        return delegate.createTranslation(audioFile, model, prompt, responseFormat, temperature);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createVisionCompletion(JsonNode request) {
+        return delegate.createVisionCompletion(request);
+    }
+
+    @Override
+    public CompletableFuture<ChatCompletion> createVisionCompletion(ChatCompletionRequest request) {
+        return delegate.createVisionCompletion(request);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createVisionCompletionWithImageUrl(
+            String imageUrl,
+            String prompt,
+            String model,
+            Float temperature) {
+        return delegate.createVisionCompletionWithImageUrl(imageUrl, prompt, model, temperature);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> createVisionCompletionWithBase64Image(
+            String imagePath,
+            String prompt,
+            String model,
+            Float temperature) {
+        return delegate.createVisionCompletionWithBase64Image(imagePath, prompt, model, temperature);
+    }
+
+    @Override
+    public CompletableFuture<String> runConversationWithTools(
+            String userPrompt,
+            List<Tool> tools,
+            String model,
+            String systemMessage) {
+        return delegate.runConversationWithTools(userPrompt, tools, model, systemMessage);
+    }
+
+    @Override
+    public CompletableFuture<String> runStreamingConversationWithTools(
+            String userPrompt,
+            List<Tool> tools,
+            String model,
+            String systemMessage) {
+        return delegate.runStreamingConversationWithTools(userPrompt, tools, model, systemMessage);
+    }
+
+    @Override
+    public Flow.Publisher<ConversationEvent> streamConversationWithTools(
+            String userPrompt,
+            List<Tool> tools,
+            String model,
+            String systemMessage) {
+        return delegate.streamConversationWithTools(userPrompt, tools, model, systemMessage);
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> listModels() {
+        return delegate.listModels();
+    }
+
+    @Override
+    public void close() throws Exception {
+        delegate.close();
+    }
+}
@@ -1,28 +1,59 @@
 package com.groq.api.client;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.concurrent.Flow.Publisher;
-import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.groq.api.config.ApiTarget;
 import com.groq.api.config.GroqApiConfig;
+import com.groq.api.events.GroqEventListener;
+import com.groq.api.events.GroqEventListener.CallType;
+import com.groq.api.events.GroqEventListener.Phase;
 import com.groq.api.exceptions.GroqApiException;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionChunk;
+import com.groq.api.models.ChatCompletionRequest;
+import com.groq.api.models.ConversationEvent;
+import com.groq.api.models.Message;
 import com.groq.api.models.Tool;
+import com.groq.api.models.ToolCall;
+import com.groq.api.models.Usage;
+import com.groq.api.metrics.EndpointMetrics;
+import com.groq.api.metrics.MetricsRegistry;
+import com.groq.api.resilience.CircuitBreaker;
+import com.groq.api.resilience.ConcurrencyLimiter;
+import com.groq.api.resilience.HedgingPolicy;
+import com.groq.api.resilience.LoadBalancer;
+import com.groq.api.resilience.RateLimiter;
+import com.groq.api.resilience.RetryPolicy;
+import com.groq.api.streaming.ChatCompletionAccumulator;
+import com.groq.api.streaming.SseStreamPublisher;
 import com.groq.api.utils.ImageUtils;
 import com.groq.api.utils.JsonUtils;
 
@@ -34,6 +65,20 @@ public class GroqApiClient implements GroqApi {
     private final GroqApiConfig config;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final ObjectWriter requestWriter;
+    private final ObjectReader completionReader;
+    private final ObjectReader chunkReader;
+    private final RequestCoalescer coalescer;
+    private volatile ModelCatalog modelCatalog;
+    private final RateLimiter rateLimiter;
+    private final RetryPolicy retryPolicy;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final HedgingPolicy hedgingPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final LoadBalancer loadBalancer;
+    private final MetricsRegistry metricsRegistry;
+    private final GroqEventListener eventListener;
 
     /**
      * Creates a new GroqApiClient with the specified configuration and HTTP client.
@@ -43,35 +88,121 @@ public class GroqApiClient implements GroqApi {
      * @param objectMapper The JSON object mapper.
      */
     public GroqApiClient(GroqApiConfig config, HttpClient httpClient, ObjectMapper objectMapper) {
+        this(config, httpClient, objectMapper, GroqEventListener.NOOP);
+    }
+
+    /**
+     * Creates a new GroqApiClient that reports the phases of its calls to a listener.
+     *
+     * @param config The configuration for the API client.
+     * @param httpClient The HTTP client for making requests.
+     * @param objectMapper The JSON object mapper.
+     * @param eventListener The listener of the calls, or {@link GroqEventListener#NOOP}.
+     */
+    public GroqApiClient(
+            GroqApiConfig config,
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            GroqEventListener eventListener) {
         this.config = config;
         this.httpClient = httpClient;
         this.objectMapper = objectMapper;
+        this.executor = config.executor();
+        // Readers and writers are immutable and cache their serializers, so they are built once
+        this.requestWriter = objectMapper.writerFor(ChatCompletionRequest.class);
+        this.completionReader = objectMapper.readerFor(ChatCompletion.class);
+        this.chunkReader = objectMapper.readerFor(ChatCompletionChunk.class);
+        this.coalescer = config.coalesceRequests() ? new RequestCoalescer() : null;
+        this.rateLimiter = config.rateLimiter();
+        this.retryPolicy = config.retryPolicy();
+        this.hedgingPolicy = config.hedgingPolicy();
+        this.circuitBreaker = config.circuitBreaker();
+        this.loadBalancer = config.loadBalancer();
+        this.metricsRegistry = config.metricsRegistry();
+        this.concurrencyLimiter = config.concurrencyLimiter();
+        // Without a listener no trace is created, so calls do not measure anything
+        this.eventListener = eventListener == null || eventListener == GroqEventListener.NOOP ? null : eventListener;
+    }
+
+    /**
+     * Returns the catalog of models available to this client, used to validate vision requests.
+     * The catalog is created on first use, and its model list is loaded in the background and
+     * refreshed by the lookups made as it nears expiry.
+     *
+     * @return The model catalog.
+     */
+    public ModelCatalog modelCatalog() {
+        ModelCatalog catalog = modelCatalog;
+        if (catalog == null) {
+            synchronized (this) {
+                catalog = modelCatalog;
+                if (catalog == null) {
+                    catalog = new ModelCatalog(this, ModelCatalog.DEFAULT_TTL, config.visionModelMarkers());
+                    modelCatalog = catalog;
+                }
+            }
+        }
+        return catalog;
     }
 
     /**
      * Creates a chat completion with the provided request.
+     * With request coalescing enabled, concurrent calls with the same canonical request share one
+     * HTTP exchange, and every caller receives its own copy of the response.
      *
      * @param request JSON object containing the request parameters.
      * @return A CompletableFuture that will complete with the response JSON object.
      */
     @Override
     public CompletableFuture<JsonNode> createChatCompletion(JsonNode request) {
+        return chatCompletion(request, CallType.CHAT, null);
+    }
+
+    private CompletableFuture<JsonNode> chatCompletion(JsonNode request, CallType type, CallTrace parent) {
         String url = config.getFullUrl(GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT);
+        String model = request.path("model").asText(null);
+        CallTrace trace = CallTrace.start(eventListener, parent, type, model);
+        CompletableFuture<JsonNode> future;
         
-        return sendJsonRequest(url, request)
-            .thenApply(response -> {
-                try {
-                    JsonNode jsonResponse = objectMapper.readTree(response);
-                    checkForErrors(jsonResponse);
-                    return jsonResponse;
-                } catch (IOException e) {
-                    throw new CompletionException("Failed to parse JSON response", e);
-                }
+        try {
+            long serializeStart = trace == null ? 0 : System.nanoTime();
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            if (trace != null) {
+                trace.phase(Phase.SERIALIZE, serializeStart);
+            }
+            String tenant = request.path("user").asText(null);
+            int tokens = estimateTokens(body, maxTokens(request));
+            Supplier<CompletableFuture<JsonNode>> call = () -> sendJsonRequest(url, body, model, tokens, trace, response -> {
+                JsonNode jsonResponse = objectMapper.readTree(response);
+                checkForErrors(jsonResponse);
+                recordUsage(model, tenant, jsonResponse, false);
+                return jsonResponse;
             });
+            
+            if (coalescer == null) {
+                future = call.get();
+            } else {
+                future = coalescer.execute(
+                    GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT + ":" + JsonUtils.canonicalHash(request),
+                    call,
+                    JsonNode::deepCopy
+                );
+            }
+        } catch (JsonProcessingException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(new GroqApiException(
+                400,
+                "Failed to serialize request body",
+                e
+            ));
+        }
+        return trace == null ? future : trace.endWith(future);
     }
 
     /**
      * Creates a streaming chat completion with the provided request.
+     * The request is sent when a subscriber subscribes, and the response is read only as fast as
+     * the subscriber requests chunks. The publisher accepts a single subscriber.
      *
      * @param request JSON object containing the request parameters.
      * @return A publisher that will emit JSON objects as they arrive.
@@ -88,54 +219,158 @@ public class GroqApiClient implements GroqApi {
         streamRequest.put("stream", true);
         
         String url = config.getFullUrl(GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT);
-        SubmissionPublisher<JsonNode> publisher = new SubmissionPublisher<>();
+        String model = streamRequest.path("model").asText(null);
+        CallTrace trace = CallTrace.start(eventListener, null, CallType.STREAM, model);
         
-        CompletableFuture.runAsync(() -> {
-            try {
-                HttpRequest httpRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Content-Type", "application/json")
-                    .header("Authorization", "Bearer " + config.apiKey())
-                    .POST(BodyPublishers.ofString(objectMapper.writeValueAsString(streamRequest)))
-                    .build();
-                
-                httpClient.send(
-                    httpRequest, 
-                    HttpResponse.BodyHandlers.ofLines()
-                ).body().forEach(line -> {
-                    if (line.startsWith("data: ")) {
-                        String data = line.substring(6); // Remove "data: " prefix
-                        if (!"[DONE]".equals(data)) {
-                            try {
-                                publisher.submit(objectMapper.readTree(data));
-                            } catch (IOException e) {
-                                publisher.closeExceptionally(new GroqApiException(
-                                    -1, 
-                                    "Failed to parse JSON chunk: " + data,
-                                    e
-                                ));
-                            }
-                        }
-                    }
-                });
-                
-                publisher.close();
-            } catch (Exception e) {
-                publisher.closeExceptionally(new GroqApiException(
-                    -1, 
-                    "Stream request failed: " + e.getMessage(),
-                    e
-                ));
+        try {
+            long serializeStart = trace == null ? 0 : System.nanoTime();
+            byte[] body = objectMapper.writeValueAsBytes(streamRequest);
+            if (trace != null) {
+                trace.phase(Phase.SERIALIZE, serializeStart);
             }
-        });
+            String tenant = streamRequest.path("user").asText(null);
+            return streamRequest(
+                url,
+                body,
+                model,
+                estimateTokens(body, maxTokens(streamRequest)),
+                trace,
+                objectMapper::readTree,
+                chunk -> chunk.path("choices").path(0).path("delta").path("content").textValue() != null,
+                chunk -> recordUsage(model, tenant, chunk, true)
+            );
+        } catch (JsonProcessingException e) {
+            GroqApiException failure = new GroqApiException(
+                400,
+                "Failed to serialize request body",
+                e
+            );
+            if (trace != null) {
+                trace.end(failure);
+            }
+            return failedPublisher(failure);
+        }
+    }
+
+    /**
+     * Creates a chat completion with a typed request.
+     * The request is written straight to bytes and the response is bound straight to records,
+     * skipping the intermediate JSON tree.
+     *
+     * @param request The request parameters.
+     * @return A CompletableFuture that will complete with the completion.
+     */
+    @Override
+    public CompletableFuture<ChatCompletion> createChatCompletion(ChatCompletionRequest request) {
+        return chatCompletion(request, CallType.CHAT);
+    }
+
+    private CompletableFuture<ChatCompletion> chatCompletion(ChatCompletionRequest request, CallType type) {
+        String url = config.getFullUrl(GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT);
+        CallTrace trace = CallTrace.start(eventListener, null, type, request.model());
+        CompletableFuture<ChatCompletion> future;
         
-        return publisher;
+        try {
+            long serializeStart = trace == null ? 0 : System.nanoTime();
+            byte[] body = requestWriter.writeValueAsBytes(request);
+            if (trace != null) {
+                trace.phase(Phase.SERIALIZE, serializeStart);
+            }
+            int tokens = estimateTokens(body, request.maxTokens());
+            ResponseParser<ChatCompletion> parser = response -> {
+                ChatCompletion completion = completionReader.readValue(response);
+                Usage usage = completion.usage() != null || completion.xGroq() == null
+                    ? completion.usage()
+                    : completion.xGroq().usage();
+                recordUsage(request.model(), request.user(), usage, false);
+                return completion;
+            };
+            Supplier<CompletableFuture<ChatCompletion>> call =
+                () -> sendJsonRequest(url, body, request.model(), tokens, trace, parser);
+            
+            if (coalescer == null) {
+                future = call.get();
+            } else {
+                // Typed requests serialize in a fixed property order, so their bytes are canonical.
+                // Completions are immutable, so every caller can be handed the same instance.
+                future = coalescer.execute(
+                    GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT + ":typed:" + JsonUtils.hash(body),
+                    call,
+                    UnaryOperator.identity()
+                );
+            }
+        } catch (JsonProcessingException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(new GroqApiException(
+                400,
+                "Failed to serialize request body",
+                e
+            ));
+        }
+        return trace == null ? future : trace.endWith(future);
+    }
+
+    /**
+     * Creates a streaming chat completion with a typed request.
+     * The request is sent when a subscriber subscribes, and the response is read only as fast as
+     * the subscriber requests chunks. The publisher accepts a single subscriber.
+     *
+     * @param request The request parameters. The stream flag is set automatically.
+     * @return A publisher that will emit chunks as they arrive.
+     */
+    @Override
+    public Publisher<ChatCompletionChunk> createChatCompletionStream(ChatCompletionRequest request) {
+        return chatCompletionStream(request, null);
+    }
+
+    private Publisher<ChatCompletionChunk> chatCompletionStream(ChatCompletionRequest request, CallTrace parent) {
+        String url = config.getFullUrl(GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT);
+        CallTrace trace = CallTrace.start(eventListener, parent, CallType.STREAM, request.model());
+        
+        try {
+            long serializeStart = trace == null ? 0 : System.nanoTime();
+            byte[] body = requestWriter.writeValueAsBytes(request.withStream(true));
+            if (trace != null) {
+                trace.phase(Phase.SERIALIZE, serializeStart);
+            }
+            return streamRequest(
+                url,
+                body,
+                request.model(),
+                estimateTokens(body, request.maxTokens()),
+                trace,
+                chunkReader::<ChatCompletionChunk>readValue,
+                chunk -> chunk.content() != null,
+                chunk -> {
+                    if (chunk.xGroq() != null) {
+                        recordUsage(request.model(), request.user(), chunk.xGroq().usage(), true);
+                    }
+                }
+            );
+        } catch (JsonProcessingException e) {
+            GroqApiException failure = new GroqApiException(
+                400,
+                "Failed to serialize request body",
+                e
+            );
+            if (trace != null) {
+                trace.end(failure);
+            }
+            return failedPublisher(failure);
+        }
     }
 
     /**
      * Creates a transcription from an audio file.
+     * <p>
+     * The stream is not read by this call: its contents are sent while the request is written,
+     * on a client thread, after this method has returned. The client takes ownership of the
+     * stream and closes it once the returned future has completed, whether the upload succeeded
+     * or not. Do not close the stream before then, for example by passing it from a
+     * try-with-resources block that does not wait for the future. A stream cannot be replayed,
+     * so the request is not retried.
      *
-     * @param audioFile The audio file input stream.
+     * @param audioFile The audio file input stream, closed by the client.
      * @param fileName The name of the audio file.
      * @param model The model to use for transcription.
      * @param prompt Optional prompt to guide the transcription.
@@ -154,39 +389,61 @@ public class GroqApiClient implements GroqApi {
             String language,
             Float temperature) {
         
-        String url = config.getFullUrl(GroqApiConfig.TRANSCRIPTIONS_ENDPOINT);
+        return closeWhenDone(audioFile, sendAudioRequest(
+            GroqApiConfig.TRANSCRIPTIONS_ENDPOINT,
+            publisher -> publisher.addPart("file", fileName, audioFile),
+            false,
+            model,
+            prompt,
+            responseFormat,
+            language,
+            temperature
+        ));
+    }
+
+    /**
+     * Creates a transcription from an audio file on disk.
+     *
+     * @param audioFile The path of the audio file.
+     * @param model The model to use for transcription.
+     * @param prompt Optional prompt to guide the transcription.
+     * @param responseFormat The format of the response (default: "json").
+     * @param language Optional language of the audio.
+     * @param temperature Optional temperature parameter for generation.
+     * @return A CompletableFuture that will complete with the response JSON object.
+     */
+    @Override
+    public CompletableFuture<JsonNode> createTranscription(
+            Path audioFile,
+            String model,
+            String prompt,
+            String responseFormat,
+            String language,
+            Float temperature) {
         
-        return sendMultipartRequest(url, () -> {
-            try {
-                MultipartBodyPublisher publisher = new MultipartBodyPublisher()
-                    .addPart("file", fileName, audioFile)
-                    .addPart("model", model);
-                
-                if (prompt != null && !prompt.isBlank()) {
-                    publisher.addPart("prompt", prompt);
-                }
-                
-                publisher.addPart("response_format", responseFormat);
-                
-                if (language != null && !language.isBlank()) {
-                    publisher.addPart("language", language);
-                }
-                
-                if (temperature != null) {
-                    publisher.addPart("temperature", temperature.toString());
-                }
-                
-                return publisher.build();
-            } catch (IOException e) {
-                throw new CompletionException("Failed to create multipart request", e);
-            }
-        });
+        return sendAudioRequest(
+            GroqApiConfig.TRANSCRIPTIONS_ENDPOINT,
+            publisher -> publisher.addPart("file", audioFile),
+            true,
+            model,
+            prompt,
+            responseFormat,
+            language,
+            temperature
+        );
     }
 
     /**
      * Creates a translation from an audio file.
+     * <p>
+     * The stream is not read by this call: its contents are sent while the request is written,
+     * on a client thread, after this method has returned. The client takes ownership of the
+     * stream and closes it once the returned future has completed, whether the upload succeeded
+     * or not. Do not close the stream before then, for example by passing it from a
+     * try-with-resources block that does not wait for the future. A stream cannot be replayed,
+     * so the request is not retried.
      *
-     * @param audioFile The audio file input stream.
+     * @param audioFile The audio file input stream, closed by the client.
      * @param fileName The name of the audio file.
      * @param model The model to use for translation.
      * @param prompt Optional prompt to guide the translation.
@@ -203,29 +460,46 @@ public class GroqApiClient implements GroqApi {
             String responseFormat,
             Float temperature) {
         
-        String url = config.getFullUrl(GroqApiConfig.TRANSLATIONS_ENDPOINT);
+        return closeWhenDone(audioFile, sendAudioRequest(
+            GroqApiConfig.TRANSLATIONS_ENDPOINT,
+            publisher -> publisher.addPart("file", fileName, audioFile),
+            false,
+            model,
+            prompt,
+            responseFormat,
+            null,
+            temperature
+        ));
+    }
+
+    /**
+     * Creates a translation from an audio file on disk.
+     *
+     * @param audioFile The path of the audio file.
+     * @param model The model to use for translation.
+     * @param prompt Optional prompt to guide the translation.
+     * @param responseFormat The format of the response (default: "json").
+     * @param temperature Optional temperature parameter for generation.
+     * @return A CompletableFuture that will complete with the response JSON object.
+     */
+    @Override
+    public CompletableFuture<JsonNode> createTranslation(
+            Path audioFile,
+            String model,
+            String prompt,
+            String responseFormat,
+            Float temperature) {
         
-        return sendMultipartRequest(url, () -> {
-            try {
-                MultipartBodyPublisher publisher = new MultipartBodyPublisher()
-                    .addPart("file", fileName, audioFile)
-                    .addPart("model", model);
-                
-                if (prompt != null && !prompt.isBlank()) {
-                    publisher.addPart("prompt", prompt);
-                }
-                
-                publisher.addPart("response_format", responseFormat);
-                
-                if (temperature != null) {
-                    publisher.addPart("temperature", temperature.toString());
-                }
-                
-                return publisher.build();
-            } catch (IOException e) {
-                throw new CompletionException("Failed to create multipart request", e);
-            }
-        });
+        return sendAudioRequest(
+            GroqApiConfig.TRANSLATIONS_ENDPOINT,
+            publisher -> publisher.addPart("file", audioFile),
+            true,
+            model,
+            prompt,
+            responseFormat,
+            null,
+            temperature
+        );
     }
 
     /**
@@ -237,8 +511,9 @@ public class GroqApiClient implements GroqApi {
     @Override
     public CompletableFuture<JsonNode> createVisionCompletion(JsonNode request) {
         try {
-            ImageUtils.validateVisionModel(request);
-            return createChatCompletion(request);
+            JsonNode model = request.path("model");
+            ImageUtils.validateVisionModel(model.isTextual() ? model.asText() : null, modelCatalog()::isVisionCapable);
+            return chatCompletion(request, CallType.VISION, null);
         } catch (GroqApiException e) {
             CompletableFuture<JsonNode> future = new CompletableFuture<>();
             future.completeExceptionally(e);
@@ -246,6 +521,24 @@ public class GroqApiClient implements GroqApi {
         }
     }
 
+    /**
+     * Creates a vision completion with a typed request.
+     *
+     * @param request The request parameters, with image parts in the user message content.
+     * @return A CompletableFuture that will complete with the completion.
+     */
+    @Override
+    public CompletableFuture<ChatCompletion> createVisionCompletion(ChatCompletionRequest request) {
+        try {
+            ImageUtils.validateVisionModel(request.model(), modelCatalog()::isVisionCapable);
+            return chatCompletion(request, CallType.VISION);
+        } catch (GroqApiException e) {
+            CompletableFuture<ChatCompletion> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
     /**
      * Creates a vision completion with an image URL.
      *
@@ -296,27 +589,27 @@ public class GroqApiClient implements GroqApi {
             String model,
             Float temperature) {
         
-        CompletableFuture<JsonNode> future = new CompletableFuture<>();
-        
-        try {
-            String base64Image = ImageUtils.convertImageToBase64(imagePath);
-            ImageUtils.validateBase64Size(base64Image, config.maxBase64SizeMB());
-            
-            JsonNode request = JsonUtils.createVisionRequestWithBase64(
-                base64Image,
-                prompt,
-                model,
-                temperature
-            );
-            
-            return createVisionCompletion(request);
-        } catch (Exception e) {
-            future.completeExceptionally(e instanceof GroqApiException
-                ? (GroqApiException) e
-                : new GroqApiException(400, "Error processing image: " + e.getMessage(), e));
-        }
+        // Reading and encoding the image blocks, so it runs on the client executor
+        CompletableFuture<JsonNode> request = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                String base64Image = ImageUtils.convertImageToBase64(imagePath);
+                ImageUtils.validateBase64Size(base64Image, config.maxBase64SizeMB());
+                
+                request.complete(JsonUtils.createVisionRequestWithBase64(
+                    base64Image,
+                    prompt,
+                    model,
+                    temperature
+                ));
+            } catch (Exception e) {
+                request.completeExceptionally(e instanceof GroqApiException
+                    ? (GroqApiException) e
+                    : new GroqApiException(400, "Error processing image: " + e.getMessage(), e));
+            }
+        });
         
-        return future;
+        return request.thenCompose(this::createVisionCompletion);
     }
 
     /**
@@ -353,7 +646,9 @@ public class GroqApiClient implements GroqApi {
         messages.add(userNode);
 
         // Delegate to the multi-turn execution logic
-        return executeMultiTurnConversation(messages, tools, model);
+        CallTrace trace = CallTrace.start(eventListener, null, CallType.TOOL_LOOP, model);
+        CompletableFuture<String> answer = executeMultiTurnConversation(messages, tools, model, trace);
+        return trace == null ? answer : trace.endWith(answer);
     }
 
     /**
@@ -363,17 +658,19 @@ public class GroqApiClient implements GroqApi {
      * @param messages The current list of messages representing the conversation history.
      * @param availableTools The list of tools the LLM can use.
      * @param model The LLM model to use.
+     * @param trace The trace of the conversation, or null.
      * @return A CompletableFuture that completes with the final content from the LLM.
      */
     private CompletableFuture<String> executeMultiTurnConversation(
             List<JsonNode> messages,
             List<Tool> availableTools,
-            String model) {
+            String model,
+            CallTrace trace) {
 
         // The temperature 0.7f is hardcoded, consider making it configurable
         JsonNode request = JsonUtils.createToolsRequest(model, messages, availableTools, 0.7f);
 
-        return createChatCompletion(request)
+        return chatCompletion(request, CallType.CHAT, trace)
             .thenCompose(response -> {
                 JsonNode choices = response.path("choices");
                 if (choices.isEmpty()) { // Check for empty choices array
@@ -422,8 +719,7 @@ public class GroqApiClient implements GroqApi {
                             .filter(tool -> tool.function().name().equals(functionName))
                             .findFirst()
                             .ifPresentOrElse(tool -> {
-                                CompletableFuture<JsonNode> toolResponseFuture = tool.function().executor()
-                                    .execute(arguments) // Execute the tool
+                                CompletableFuture<JsonNode> toolResponseFuture = executeTool(tool, arguments, model, trace)
                                     .thenApply(result -> {
                                         System.out.println("Tool " + functionName + " executed. Result: " + result);
                                         return JsonUtils.createToolResponseMessage(toolCallId, functionName, result);
@@ -467,108 +763,706 @@ public class GroqApiClient implements GroqApi {
                         // Now, recursively call the method to continue the conversation
                         // The LLM will now see the original prompt, its tool suggestions, and the tool results
                         System.out.println("Tool responses added. Continuing conversation for next turn...");
-                        return executeMultiTurnConversation(messages, availableTools, model);
+                        return executeMultiTurnConversation(messages, availableTools, model, trace);
                     });
             });
     }
     /**
-     * Lists available models.
+     * Runs a conversation with tools like {@link #runConversationWithTools}, but streams every
+     * turn. Each tool call is started as soon as its arguments are complete in the stream, so the
+     * tools of a turn run while the model is still generating the remaining calls.
      *
-     * @return A CompletableFuture that will complete with the response JSON object.
+     * @param userPrompt The user's prompt or message.
+     * @param tools The list of tools to make available.
+     * @param model The model to use.
+     * @param systemMessage Optional system message.
+     * @return A CompletableFuture that will complete with the final response text.
      */
     @Override
-    public CompletableFuture<JsonNode> listModels() {
-        String url = config.getFullUrl(GroqApiConfig.MODELS_ENDPOINT);
-        
-        HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(url))
-            .header("Authorization", "Bearer " + config.apiKey())
-            .GET()
-            .build();
-        
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-            .thenApply(response -> {
-                if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                    try {
-                        return objectMapper.readTree(response.body());
-                    } catch (IOException e) {
-                        throw new CompletionException("Failed to parse response: " + response.body(), e);
-                    }
-                } else {
-                    throw new CompletionException(new GroqApiException(
-                        response.statusCode(),
-                        "API request failed with status " + response.statusCode() + ": " + response.body()
-                    ));
-                }
-            });
+    public CompletableFuture<String> runStreamingConversationWithTools(
+            String userPrompt,
+            List<Tool> tools,
+            String model,
+            String systemMessage) {
+
+        List<Message> messages = new ArrayList<>();
+        if (systemMessage != null && !systemMessage.isBlank()) {
+            messages.add(Message.system(systemMessage));
+        }
+        messages.add(Message.user(userPrompt));
+
+        CallTrace trace = CallTrace.start(eventListener, null, CallType.TOOL_LOOP, model);
+        CompletableFuture<String> answer = executeStreamingConversation(messages, tools, model, trace, null, 1);
+        return trace == null ? answer : trace.endWith(answer);
     }
 
     /**
-     * Closes the client and releases resources.
+     * Runs a conversation with tools like {@link #runStreamingConversationWithTools}, and publishes
+     * its progress: the start and result of every tool call, the end of every tool turn, and the
+     * content of the final answer token by token as it is generated. The conversation starts when
+     * a subscriber subscribes, and the answer is streamed only as fast as the subscriber requests
+     * events. The publisher accepts a single subscriber.
+     *
+     * @param userPrompt The user's prompt or message.
+     * @param tools The list of tools to make available.
+     * @param model The model to use.
+     * @param systemMessage Optional system message.
+     * @return A publisher of the events of the conversation.
      */
     @Override
-    public void close() {
-        // HttpClient doesn't need explicit closing in Java
+    public Publisher<ConversationEvent> streamConversationWithTools(
+            String userPrompt,
+            List<Tool> tools,
+            String model,
+            String systemMessage) {
+
+        return new ConversationPublisher(events -> {
+            List<Message> messages = new ArrayList<>();
+            if (systemMessage != null && !systemMessage.isBlank()) {
+                messages.add(Message.system(systemMessage));
+            }
+            messages.add(Message.user(userPrompt));
+
+            CallTrace trace = CallTrace.start(eventListener, null, CallType.TOOL_LOOP, model);
+            CompletableFuture<String> answer = executeStreamingConversation(messages, tools, model, trace, events, 1);
+            return trace == null ? answer : trace.endWith(answer);
+        });
     }
 
-    //------------------------------------------------------------------------
-    // Helper methods
-    //------------------------------------------------------------------------
+    /**
+     * Streams one turn of a conversation with tools, starting its tool calls while it streams,
+     * and continues with the next turn once the turn ended and all of its tools returned.
+     *
+     * @param messages The conversation history, extended with every turn.
+     * @param availableTools The list of tools the LLM can use.
+     * @param model The LLM model to use.
+     * @param trace The trace of the conversation, or null.
+     * @param events The publisher of the events of the conversation, or null.
+     * @param turn The number of the turn, from 1.
+     * @return A CompletableFuture that completes with the final content from the LLM.
+     */
+    private CompletableFuture<String> executeStreamingConversation(
+            List<Message> messages,
+            List<Tool> availableTools,
+            String model,
+            CallTrace trace,
+            ConversationPublisher events,
+            int turn) {
 
-    private CompletableFuture<String> sendJsonRequest(String url, JsonNode body) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
-                .header("Authorization", "Bearer " + config.apiKey())
-                .POST(BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
-                .build();
-            
-            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                        return response.body();
-                    } else {
-                        throw new CompletionException(new GroqApiException(
+        ChatCompletionRequest request = ChatCompletionRequest.of(model, List.copyOf(messages))
+            .withTools(availableTools, "auto")
+            .withTemperature(0.7f);
+
+        // The accumulator reports the calls one at a time, on the thread delivering the chunks
+        List<CompletableFuture<Message>> toolResponses = new ArrayList<>();
+        ChatCompletionAccumulator accumulator = new ChatCompletionAccumulator(
+            events == null ? null : events.turn(turn),
+            toolCall -> {
+                CompletableFuture<Message> response = executeToolCall(toolCall, availableTools, model, trace);
+                if (events != null) {
+                    events.emit(ConversationEvent.toolCallStarted(turn, toolCall));
+                    response = response.thenApply(message -> {
+                        events.emit(ConversationEvent.toolCallCompleted(turn, toolCall, message.text()));
+                        return message;
+                    });
+                }
+                toolResponses.add(response);
+            }
+        );
+        chatCompletionStream(request, trace).subscribe(accumulator);
+
+        return accumulator.completion().thenCompose(completion -> {
+            if (completion.choices().isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            Message message = completion.choices().get(0).message();
+            boolean hasToolCalls = message.toolCalls() != null && !message.toolCalls().isEmpty();
+            String content = message.text() == null ? "" : message.text();
+            if (!hasToolCalls) {
+                // Final answer, or neither content nor tool calls, which would loop forever
+                return CompletableFuture.completedFuture(content.isEmpty() ? null : content);
+            }
+
+            messages.add(message);
+            return CompletableFuture.allOf(toolResponses.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(v -> {
+                    toolResponses.forEach(response -> messages.add(response.join()));
+                    if (events != null) {
+                        events.emit(ConversationEvent.toolTurnCompleted(turn));
+                    }
+                    return executeStreamingConversation(messages, availableTools, model, trace, events, turn + 1);
+                });
+        });
+    }
+
+    /**
+     * Runs the tool a streamed tool call names and turns its result, or its failure, into the
+     * tool message of the call.
+     */
+    private CompletableFuture<Message> executeToolCall(
+            ToolCall toolCall,
+            List<Tool> availableTools,
+            String model,
+            CallTrace trace) {
+        String functionName = toolCall.function().name();
+        String arguments = toolCall.function().arguments();
+        for (Tool tool : availableTools) {
+            if (tool.function().name().equals(functionName)) {
+                return executeTool(tool, arguments, model, trace)
+                    .thenApply(result -> Message.tool(toolCall.id(), functionName, result))
+                    .exceptionally(e -> Message.tool(toolCall.id(), functionName, "Error: " + e.getMessage()));
+            }
+        }
+        return CompletableFuture.completedFuture(
+            Message.tool(toolCall.id(), functionName, "Error: Tool '" + functionName + "' not found."));
+    }
+
+    /**
+     * Runs a tool, reporting the run to the event listener and Flight Recorder. Tools may block,
+     * so they are started on the client executor.
+     */
+    private CompletableFuture<String> executeTool(Tool tool, String arguments, String model, CallTrace trace) {
+        String functionName = tool.function().name();
+        long toolStart = trace == null ? 0 : System.nanoTime();
+        ToolExecutionEvent event = ToolExecutionEvent.enabled() ? new ToolExecutionEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        return CompletableFuture
+            .supplyAsync(() -> tool.function().executor().execute(arguments), executor)
+            .thenCompose(result -> result)
+            .whenComplete((result, failure) -> {
+                if (trace != null) {
+                    trace.toolCall(functionName, toolStart, failure);
+                }
+                if (event != null) {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.model = model;
+                        event.toolName = functionName;
+                        event.argumentsBytes = arguments.getBytes(StandardCharsets.UTF_8).length;
+                        event.failed = failure != null;
+                        event.commit();
+                    }
+                }
+            });
+    }
+
+    /**
+     * Lists available models.
+     * With request coalescing enabled, concurrent calls share one HTTP exchange.
+     *
+     * @return A CompletableFuture that will complete with the response JSON object.
+     */
+    @Override
+    public CompletableFuture<JsonNode> listModels() {
+        String url = config.getFullUrl(GroqApiConfig.MODELS_ENDPOINT);
+        
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .header("Authorization", "Bearer " + config.apiKey())
+            .GET()
+            .build();
+        
+        CallTrace trace = CallTrace.start(eventListener, null, CallType.MODELS, null);
+        CompletableFuture<JsonNode> models;
+        if (coalescer == null) {
+            models = sendRequest(request, GroqApiConfig.MODELS_ENDPOINT, null, 0, true, trace, objectMapper::readTree);
+        } else {
+            models = coalescer.execute(
+                GroqApiConfig.MODELS_ENDPOINT,
+                () -> sendRequest(request, GroqApiConfig.MODELS_ENDPOINT, null, 0, true, trace, objectMapper::readTree),
+                JsonNode::deepCopy
+            );
+        }
+        return trace == null ? models : trace.endWith(models);
+    }
+
+    /**
+     * Closes the client and releases resources.
+     */
+    @Override
+    public void close() {
+        // HttpClient doesn't need explicit closing in Java
+        ModelCatalog catalog = modelCatalog;
+        if (catalog != null) {
+            catalog.close();
+        }
+    }
+
+    //------------------------------------------------------------------------
+    // Helper methods
+    //------------------------------------------------------------------------
+
+    /**
+     * Parses a successful response body.
+     */
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+
+    private <T> CompletableFuture<T> sendJsonRequest(
+            String url,
+            byte[] body,
+            String model,
+            int tokens,
+            CallTrace trace,
+            ResponseParser<T> parser) {
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + config.apiKey())
+            .POST(BodyPublishers.ofByteArray(body))
+            .build();
+        
+        if (hedgingPolicy == null) {
+            return sendRequest(request, GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT, model, tokens, true, trace, parser);
+        }
+        // Chat completions have no side effects, so a slow one can be sent twice
+        return hedgingPolicy.execute(
+            model == null ? "" : model,
+            () -> sendRequest(request, GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT, model, tokens, true, trace, parser)
+        );
+    }
+
+    /**
+     * Sends a request, retrying it with the retry policy unless its body cannot be replayed.
+     */
+    private <T> CompletableFuture<T> sendRequest(
+            HttpRequest request,
+            String endpoint,
+            String model,
+            int tokens,
+            boolean replayable,
+            CallTrace trace,
+            ResponseParser<T> parser) {
+        if (retryPolicy == null || !replayable) {
+            return sendAttempt(request, endpoint, model, tokens, trace, parser);
+        }
+        return retryPolicy.execute(() -> sendAttempt(request, endpoint, model, tokens, trace, parser));
+    }
+
+    /**
+     * Sends a request once the circuit breaker and the limiters admit it, to the target picked by
+     * the load balancer. Requests without a model, such as listing the models, are not limited.
+     */
+    private <T> CompletableFuture<T> sendAttempt(
+            HttpRequest request,
+            String endpoint,
+            String model,
+            int tokens,
+            CallTrace trace,
+            ResponseParser<T> parser) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EndpointMetrics metrics = metricsRegistry == null ? null : metricsRegistry.metrics(endpoint, model);
+        long queuedAt = System.nanoTime();
+        Admission.acquire(
+                loadBalancer,
+                circuitBreaker,
+                rateLimiter,
+                concurrencyLimiter,
+                config.apiKey(),
+                endpoint,
+                model,
+                tokens)
+            .whenComplete((admission, failure) -> {
+                if (failure != null) {
+                    if (metrics != null) {
+                        metrics.recordFailure();
+                    }
+                    result.completeExceptionally(failure);
+                    return;
+                }
+                if (result.isDone()) {
+                    // Cancelled while waiting for admission
+                    admission.onFailure(new CancellationException("Request cancelled before it was sent"));
+                    admission.release();
+                    return;
+                }
+                if (metrics != null) {
+                    metrics.recordQueueWait(System.nanoTime() - queuedAt);
+                }
+                if (trace != null) {
+                    trace.phase(Phase.QUEUE, queuedAt);
+                }
+                HttpRequest targeted = retarget(request, endpoint, admission.target());
+                CompletableFuture<T> sent = sendRequest(targeted, endpoint, model, admission, metrics, trace, parser);
+                sent.whenComplete((value, error) -> {
+                    if (error == null) {
+                        result.complete(value);
+                    } else {
+                        result.completeExceptionally(error);
+                    }
+                });
+                result.whenComplete((value, error) -> {
+                    if (result.isCancelled()) {
+                        sent.cancel(true);
+                    }
+                });
+            });
+        return result;
+    }
+
+    /**
+     * Sends a request and parses the response while it is read from the connection, so the body
+     * is never collected into an intermediate String or array. Reading blocks, so it runs on the
+     * client executor. While Flight Recorder takes them, the exchange is recorded as an
+     * {@link HttpExchangeEvent}.
+     */
+    private <T> CompletableFuture<T> sendRequest(
+            HttpRequest request,
+            String endpoint,
+            String model,
+            Admission admission,
+            EndpointMetrics metrics,
+            CallTrace trace,
+            ResponseParser<T> parser) {
+        HttpExchangeEvent event = HttpExchangeEvent.enabled() ? new HttpExchangeEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long sentAt = System.nanoTime();
+        CompletableFuture<HttpResponse<InputStream>> sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        CompletableFuture<HttpResponse<InputStream>> exchange = sent;
+        if (metrics != null) {
+            request.bodyPublisher()
+                .map(HttpRequest.BodyPublisher::contentLength)
+                .filter(length -> length >= 0)
+                .ifPresent(metrics::recordRequestBytes);
+            exchange = exchange.whenComplete((response, throwable) -> {
+                if (response != null) {
+                    metrics.recordResponse(response.statusCode(), System.nanoTime() - sentAt);
+                } else {
+                    metrics.recordFailure();
+                }
+            });
+        }
+        AtomicLong headersAt = trace == null ? null : new AtomicLong();
+        if (trace != null) {
+            exchange = exchange.whenComplete((response, throwable) -> {
+                if (response != null) {
+                    headersAt.set(System.nanoTime());
+                    trace.phase(Phase.HEADERS, sentAt, headersAt.get());
+                }
+            });
+        }
+        if (admission != Admission.UNLIMITED) {
+            exchange = exchange.whenComplete((response, throwable) -> {
+                if (response != null) {
+                    admission.onResponse(response.statusCode(), response.headers());
+                } else {
+                    admission.onFailure(throwable);
+                }
+                admission.release();
+            });
+        }
+        CompletableFuture<T> result = exchange
+            .thenApplyAsync(response -> {
+                if (event != null) {
+                    event.statusCode = response.statusCode();
+                }
+                try (InputStream body = response.body()) {
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        throw new CompletionException(new GroqApiException(
                             response.statusCode(),
-                            "API request failed with status " + response.statusCode() + ": " + response.body()
+                            "API request failed with status " + response.statusCode() + ": "
+                                + new String(body.readAllBytes(), StandardCharsets.UTF_8),
+                            RetryPolicy.retryAfter(response.headers())
                         ));
                     }
-                });
-        } catch (JsonProcessingException e) {
-            CompletableFuture<String> future = new CompletableFuture<>();
-            future.completeExceptionally(new GroqApiException(
-                400,
-                "Failed to serialize request body",
-                e
-            ));
-            return future;
+                    // Jackson closes its source after the root value; the body is closed here
+                    // instead, once read to the end, so the connection stays reusable
+                    long parseStart = trace == null ? 0 : System.nanoTime();
+                    BodyInputStream source = new BodyInputStream(body, trace != null);
+                    T parsed = parser.parse(source);
+                    source.transferTo(OutputStream.nullOutputStream());
+                    if (metrics != null) {
+                        metrics.recordResponseBytes(source.bytesRead);
+                        metrics.recordLatency(System.nanoTime() - sentAt);
+                    }
+                    if (trace != null) {
+                        if (source.firstByteAt != 0) {
+                            trace.phase(Phase.FIRST_BYTE, headersAt.get(), source.firstByteAt);
+                        }
+                        trace.phase(Phase.PARSE, parseStart);
+                    }
+                    if (event != null) {
+                        event.responseBytes = source.bytesRead;
+                        recordTokens(event, parsed);
+                    }
+                    return parsed;
+                } catch (IOException e) {
+                    throw new CompletionException("Failed to parse JSON response", e);
+                }
+            }, executor);
+        // Cancelling the result aborts the HTTP exchange, for example when a hedged request lost.
+        // A response that arrived, or arrives later, is never read by the cancelled parsing
+        // stage, so its body is closed here to release the connection.
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                sent.cancel(true);
+                sent.thenAccept(response -> closeQuietly(response.body()));
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.endpoint = endpoint;
+                    event.model = model;
+                    event.requestBytes = request.bodyPublisher()
+                        .map(HttpRequest.BodyPublisher::contentLength)
+                        .orElse(0L);
+                    event.commit();
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Closes a response body that will not be read.
+     */
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // The connection is discarded either way
+        }
+    }
+
+    /**
+     * Copies the token counts of a parsed completion into its exchange event.
+     */
+    private static void recordTokens(HttpExchangeEvent event, Object parsed) {
+        if (parsed instanceof ChatCompletion completion) {
+            Usage usage = completion.usage();
+            if (usage != null) {
+                event.promptTokens = usage.promptTokens() == null ? 0 : usage.promptTokens();
+                event.completionTokens = usage.completionTokens() == null ? 0 : usage.completionTokens();
+            }
+        } else if (parsed instanceof JsonNode response) {
+            JsonNode usage = response.path("usage");
+            event.promptTokens = usage.path("prompt_tokens").asLong();
+            event.completionTokens = usage.path("completion_tokens").asLong();
+        }
+    }
+
+    /**
+     * Creates the publisher of a streamed chat completion, timed for the metrics registry and the
+     * event listener if the client has them, and for Flight Recorder while it records.
+     */
+    private <T> Publisher<T> streamRequest(
+            String url,
+            byte[] body,
+            String model,
+            int tokens,
+            CallTrace trace,
+            SseStreamPublisher.FrameDecoder<T> decoder,
+            Predicate<T> hasContent,
+            Consumer<T> usage) {
+        HttpRequest request = createStreamRequest(url, body);
+        boolean chunkEvents = StreamChunkBatchEvent.enabled();
+        if (metricsRegistry == null && trace == null && !chunkEvents) {
+            return new SseStreamPublisher<>(httpClient, request, decoder, exchangeListener(model, tokens, null));
+        }
+        EndpointMetrics metrics = metricsRegistry == null
+            ? null
+            : metricsRegistry.metrics(GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT, model);
+        StreamTiming timing = new StreamTiming(metrics, trace, model, chunkEvents, body.length);
+        SseStreamPublisher.FrameDecoder<T> timed = timing.decoder(decoder, hasContent);
+        if (metricsRegistry == null) {
+            return new SseStreamPublisher<>(httpClient, request, timed, exchangeListener(model, tokens, timing));
         }
+        return new SseStreamPublisher<>(
+            httpClient,
+            request,
+            (buffer, offset, length) -> {
+                T chunk = timed.decode(buffer, offset, length);
+                usage.accept(chunk);
+                return chunk;
+            },
+            exchangeListener(model, tokens, timing)
+        );
     }
 
-    private CompletableFuture<JsonNode> sendMultipartRequest(String url, Supplier<BodyPublisher> bodySupplier) {
+    /**
+     * Adds the usage block of a completion, or of the final chunk of a stream, to the metrics
+     * registry. The {@code x_groq} block carries it on streams.
+     */
+    private void recordUsage(String model, String tenant, JsonNode response, boolean streamed) {
+        if (metricsRegistry == null) {
+            return;
+        }
+        JsonNode usage = response.path("usage");
+        if (!usage.isObject()) {
+            usage = response.path("x_groq").path("usage");
+            if (!usage.isObject()) {
+                return;
+            }
+        }
+        recordUsage(
+            model,
+            tenant,
+            usage.path("prompt_tokens").asLong(),
+            usage.path("completion_tokens").asLong(),
+            usage.path("queue_time").asDouble(),
+            usage.path("prompt_time").asDouble(),
+            usage.path("completion_time").asDouble(),
+            streamed
+        );
+    }
+
+    private void recordUsage(String model, String tenant, Usage usage, boolean streamed) {
+        if (metricsRegistry == null || usage == null) {
+            return;
+        }
+        recordUsage(
+            model,
+            tenant,
+            usage.promptTokens() == null ? 0 : usage.promptTokens(),
+            usage.completionTokens() == null ? 0 : usage.completionTokens(),
+            usage.queueTime() == null ? 0 : usage.queueTime(),
+            usage.promptTime() == null ? 0 : usage.promptTime(),
+            usage.completionTime() == null ? 0 : usage.completionTime(),
+            streamed
+        );
+    }
+
+    private void recordUsage(
+            String model,
+            String tenant,
+            long promptTokens,
+            long completionTokens,
+            double queueTime,
+            double promptTime,
+            double completionTime,
+            boolean streamed) {
+        metricsRegistry.usage(model, tenant).record(promptTokens, completionTokens, queueTime, promptTime, completionTime);
+        // Streams measure their generation rate from the arrival of their chunks
+        if (!streamed && completionTokens > 0 && completionTime > 0) {
+            metricsRegistry.metrics(GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT, model)
+                .recordTokensPerSecond(Math.round(completionTokens / completionTime));
+        }
+    }
+
+    private HttpRequest createStreamRequest(String url, byte[] body) {
+        return HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .header("Content-Type", "application/json")
+            .header("Accept", "text/event-stream")
+            .header("Authorization", "Bearer " + config.apiKey())
+            .POST(BodyPublishers.ofByteArray(body))
+            .build();
+    }
+
+    /**
+     * Adds the audio file part to a multipart body.
+     */
+    @FunctionalInterface
+    private interface AudioPart {
+        void addTo(MultipartBodyPublisher publisher) throws IOException;
+    }
+
+    private CompletableFuture<JsonNode> sendAudioRequest(
+            String endpoint,
+            AudioPart audioPart,
+            boolean replayable,
+            String model,
+            String prompt,
+            String responseFormat,
+            String language,
+            Float temperature) {
+        
+        CallTrace trace = CallTrace.start(eventListener, null, CallType.AUDIO, model);
+        // Preparing the body may touch the file system, so it runs on the client executor
+        CompletableFuture<MultipartBodyPublisher> body = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                long serializeStart = trace == null ? 0 : System.nanoTime();
+                MultipartBodyPublisher publisher = new MultipartBodyPublisher();
+                audioPart.addTo(publisher);
+                publisher.addPart("model", model);
+                
+                if (prompt != null && !prompt.isBlank()) {
+                    publisher.addPart("prompt", prompt);
+                }
+                
+                publisher.addPart("response_format", responseFormat);
+                
+                if (language != null && !language.isBlank()) {
+                    publisher.addPart("language", language);
+                }
+                
+                if (temperature != null) {
+                    publisher.addPart("temperature", temperature.toString());
+                }
+                
+                if (trace != null) {
+                    trace.phase(Phase.SERIALIZE, serializeStart);
+                }
+                body.complete(publisher);
+            } catch (Exception e) {
+                body.completeExceptionally(new GroqApiException(
+                    400,
+                    "Failed to create request: " + e.getMessage(),
+                    e
+                ));
+            }
+        });
+        
+        CompletableFuture<JsonNode> response =
+            body.thenCompose(publisher -> sendMultipartRequest(endpoint, publisher, model, replayable, trace));
+        return trace == null ? response : trace.endWith(response);
+    }
+
+    /**
+     * Closes an uploaded stream once its request is over, also if the request failed before the
+     * stream was read. Closing a stream twice has no effect.
+     */
+    private static <T> CompletableFuture<T> closeWhenDone(InputStream stream, CompletableFuture<T> response) {
+        response.whenComplete((value, failure) -> {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // The upload is over either way
+            }
+        });
+        return response;
+    }
+
+    private CompletableFuture<JsonNode> sendMultipartRequest(
+            String endpoint,
+            MultipartBodyPublisher body,
+            String model,
+            boolean replayable,
+            CallTrace trace) {
         try {
             HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
+                .uri(URI.create(config.getFullUrl(endpoint)))
+                .header("Content-Type", body.getContentType())
                 .header("Authorization", "Bearer " + config.apiKey())
-                .POST(bodySupplier.get())
+                .POST(body.build())
                 .build();
             
-            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                        try {
-                            return objectMapper.readTree(response.body());
-                        } catch (IOException e) {
-                            throw new CompletionException("Failed to parse response: " + response.body(), e);
-                        }
-                    } else {
-                        throw new CompletionException(new GroqApiException(
-                            response.statusCode(),
-                            "API request failed with status " + response.statusCode() + ": " + response.body()
-                        ));
-                    }
-                });
+            MultipartUploadEvent event = MultipartUploadEvent.enabled() ? new MultipartUploadEvent() : null;
+            if (event == null) {
+                return sendRequest(request, endpoint, model, 0, replayable, trace, objectMapper::readTree);
+            }
+            event.begin();
+            CompletableFuture<JsonNode> response =
+                sendRequest(request, endpoint, model, 0, replayable, trace, objectMapper::readTree);
+            response.whenComplete((value, failure) -> {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.endpoint = endpoint;
+                    event.model = model;
+                    event.contentLength = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(-1L);
+                    event.fileBytes = body.fileBytesSent();
+                    event.failed = failure != null;
+                    event.commit();
+                }
+            });
+            return response;
         } catch (Exception e) {
             CompletableFuture<JsonNode> future = new CompletableFuture<>();
             future.completeExceptionally(new GroqApiException(
@@ -580,6 +1474,188 @@ public class GroqApiClient implements GroqApi {
         }
     }
 
+    /**
+     * Returns the listener that makes a stream pass the circuit breaker and wait for the limiters.
+     */
+    private SseStreamPublisher.ExchangeListener exchangeListener(String model, int tokens, StreamTiming timing) {
+        boolean limited = model != null && (rateLimiter != null || concurrencyLimiter != null);
+        if (!limited && loadBalancer == null && circuitBreaker == null && retryPolicy == null && timing == null) {
+            return SseStreamPublisher.ExchangeListener.NONE;
+        }
+        return new SseStreamPublisher.ExchangeListener() {
+            private volatile Admission admission = Admission.UNLIMITED;
+            private volatile RetryPolicy.Call retries;
+
+            @Override
+            public CompletableFuture<Void> beforeSend() {
+                if (retryPolicy != null && retries == null) {
+                    retries = retryPolicy.newCall();
+                }
+                if (timing != null) {
+                    timing.onQueued();
+                }
+                return Admission.acquire(
+                        loadBalancer,
+                        circuitBreaker,
+                        rateLimiter,
+                        concurrencyLimiter,
+                        config.apiKey(),
+                        GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT,
+                        model,
+                        tokens)
+                    .whenComplete((acquired, failure) -> {
+                        if (timing != null) {
+                            if (failure == null) {
+                                timing.onAdmitted();
+                            } else {
+                                timing.onFailure();
+                            }
+                        }
+                    })
+                    .thenAccept(acquired -> admission = acquired);
+            }
+
+            @Override
+            public HttpRequest prepare(HttpRequest request) {
+                if (timing != null) {
+                    timing.onSend();
+                }
+                return retarget(request, GroqApiConfig.CHAT_COMPLETIONS_ENDPOINT, admission.target());
+            }
+
+            @Override
+            public void onResponse(HttpResponse.ResponseInfo response) {
+                admission.onResponse(response.statusCode(), response.headers());
+                if (timing != null) {
+                    timing.onResponse(response.statusCode());
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                admission.onFailure(throwable);
+                if (timing != null) {
+                    timing.onFailure();
+                }
+            }
+
+            @Override
+            public void onComplete(Throwable failure) {
+                // A stream holds its concurrency slot until the last chunk was read
+                admission.release();
+                if (timing != null) {
+                    timing.onComplete(failure);
+                }
+            }
+
+            @Override
+            public void onTerminate(Throwable failure) {
+                if (timing != null) {
+                    timing.onTerminate(failure);
+                }
+            }
+
+            @Override
+            public long retryDelayNanos(Throwable failure) {
+                return retries == null ? -1 : retries.nextDelayNanos(failure);
+            }
+        };
+    }
+
+    /**
+     * The body of a response, handed to the parser. Jackson closes its source after the root
+     * value, so closing is ignored here and left to the caller. It also counts the bytes read and,
+     * when the call is traced, notes when the first one arrived.
+     */
+    private static final class BodyInputStream extends FilterInputStream {
+        private final boolean timed;
+        private long bytesRead;
+        private long firstByteAt;
+
+        BodyInputStream(InputStream body, boolean timed) {
+            super(body);
+            this.timed = timed;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                counted(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                counted(count);
+            }
+            return count;
+        }
+
+        private void counted(int count) {
+            if (timed && bytesRead == 0) {
+                firstByteAt = System.nanoTime();
+            }
+            bytesRead += count;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(count);
+            bytesRead += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Points a request built for the config's API key and base URL at a load balancer target.
+     */
+    private static HttpRequest retarget(HttpRequest request, String endpoint, ApiTarget target) {
+        if (target == null) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+            .uri(URI.create(target.getFullUrl(endpoint)))
+            .setHeader("Authorization", "Bearer " + target.apiKey())
+            .build();
+    }
+
+    /**
+     * Estimates the tokens a chat request consumes: about four bytes of request JSON per prompt
+     * token, plus the completion tokens it asks for at most.
+     */
+    private static int estimateTokens(byte[] body, Integer maxTokens) {
+        long tokens = body.length / 4L + (maxTokens == null ? 0 : Math.max(0, maxTokens));
+        return (int) Math.min(Integer.MAX_VALUE, tokens);
+    }
+
+    private static Integer maxTokens(JsonNode request) {
+        JsonNode maxTokens = request.has("max_completion_tokens") ? request.get("max_completion_tokens") : request.get("max_tokens");
+        return maxTokens != null && maxTokens.canConvertToInt() ? maxTokens.intValue() : null;
+    }
+
+    private static <T> Publisher<T> failedPublisher(Throwable error) {
+        return subscriber -> {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(error);
+        };
+    }
+
     private void checkForErrors(JsonNode response) {
         JsonNode error = response.path("error");
         if (!error.isMissingNode()) {
@@ -613,56 +1689,4 @@ public class GroqApiClient implements GroqApi {
             super(cause);
         }
     }
-
-    /**
-     * Helper class for building multipart requests.
-     */
-    private static class MultipartBodyPublisher {
-        private final String boundary = "----GroqApiClientBoundary" + System.currentTimeMillis();
-        private final List<byte[]> parts = new ArrayList<>();
-        private final String lineBreak = "\r\n";
-        
-        public MultipartBodyPublisher addPart(String name, String value) {
-            StringBuilder builder = new StringBuilder();
-            builder.append("--").append(boundary).append(lineBreak);
-            builder.append("Content-Disposition: form-data; name=\"").append(name).append("\"");
-            builder.append(lineBreak).append(lineBreak);
-            builder.append(value).append(lineBreak);
-            parts.add(builder.toString().getBytes(StandardCharsets.UTF_8));
-            return this;
-        }
-        
-        public MultipartBodyPublisher addPart(String name, String filename, InputStream data) throws IOException {
-            StringBuilder builder = new StringBuilder();
-            builder.append("--").append(boundary).append(lineBreak);
-            builder.append("Content-Disposition: form-data; name=\"").append(name)
-                   .append("\"; filename=\"").append(filename).append("\"");
-            builder.append(lineBreak);
-            builder.append("Content-Type: application/octet-stream");
-            builder.append(lineBreak).append(lineBreak);
-            parts.add(builder.toString().getBytes(StandardCharsets.UTF_8));
-            
-            // Add file data
-            parts.add(data.readAllBytes());
-            parts.add(lineBreak.getBytes(StandardCharsets.UTF_8));
-            return this;
-        }
-        
-        public BodyPublisher build() {
-            // Add closing boundary
-            parts.add(("--" + boundary + "--" + lineBreak).getBytes(StandardCharsets.UTF_8));
-            
-            // Calculate total length
-            long contentLength = parts.stream()
-                .mapToLong(part -> part.length)
-                .sum();
-            
-            // Create publisher
-            return BodyPublishers.ofByteArrays(parts);
-        }
-        
-        public String getContentType() {
-            return "multipart/form-data; boundary=" + boundary;
-        }
-    }
 }
\ No newline at end of file
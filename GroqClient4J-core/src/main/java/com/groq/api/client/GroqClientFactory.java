@@ -2,9 +2,13 @@ package com.groq.api.client;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groq.api.config.ClientExecutors;
 import com.groq.api.config.GroqApiConfig;
+import com.groq.api.events.GroqEventListener;
+import com.groq.api.utils.JsonUtils;
 
 /**
  * Factory for creating Groq API clients and related components.
@@ -20,8 +24,19 @@ public final class GroqClientFactory {
      * @return A configured HttpClient instance.
      */
     public static HttpClient createDefaultHttpClient() {
+        return createDefaultHttpClient(ClientExecutors.defaultExecutor());
+    }
+    
+    /**
+     * Creates a default HTTP client for the Groq API that handles responses on the given executor.
+     * 
+     * @param executor The executor for response handling and dependent tasks.
+     * @return A configured HttpClient instance.
+     */
+    public static HttpClient createDefaultHttpClient(Executor executor) {
         return HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(30))
+            .executor(executor)
             .build();
     }
     
@@ -36,6 +51,28 @@ public final class GroqClientFactory {
         return createClient(config);
     }
     
+    /**
+     * Creates a new Groq API client that runs all blocking work on the given executor.
+     * 
+     * @param apiKey The API key to use for authentication.
+     * @param executor The executor for blocking client work.
+     * @return A configured GroqApiClient instance.
+     */
+    public static GroqApiClient createClient(String apiKey, Executor executor) {
+        return createClient(GroqApiConfig.create(apiKey).withExecutor(executor));
+    }
+    
+    /**
+     * Creates a new Groq API client that runs all blocking work on virtual threads.
+     * 
+     * @param apiKey The API key to use for authentication.
+     * @return A configured GroqApiClient instance.
+     * @throws UnsupportedOperationException If the JVM is older than Java 21.
+     */
+    public static GroqApiClient createVirtualThreadClient(String apiKey) {
+        return createClient(apiKey, ClientExecutors.virtualThreads());
+    }
+    
     /**
      * Creates a new Groq API client with the provided configuration.
      * 
@@ -43,7 +80,7 @@ public final class GroqClientFactory {
      * @return A configured GroqApiClient instance.
      */
     public static GroqApiClient createClient(GroqApiConfig config) {
-        return createClient(config, createDefaultHttpClient(), new ObjectMapper());
+        return createClient(config, createDefaultHttpClient(config.executor()), JsonUtils.mapper());
     }
     
     /**
@@ -57,4 +94,33 @@ public final class GroqClientFactory {
     public static GroqApiClient createClient(GroqApiConfig config, HttpClient httpClient, ObjectMapper objectMapper) {
         return new GroqApiClient(config, httpClient, objectMapper);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Creates a new Groq API client that reports the phases of its calls to a listener.
+     * 
+     * @param config The configuration for the client.
+     * @param eventListener The listener of the calls.
+     * @return A configured GroqApiClient instance.
+     */
+    public static GroqApiClient createClient(GroqApiConfig config, GroqEventListener eventListener) {
+        return createClient(config, createDefaultHttpClient(config.executor()), JsonUtils.mapper(), eventListener);
+    }
+    
+    /**
+     * Creates a new Groq API client with the provided configuration and HTTP client that reports the
+     * phases of its calls to a listener.
+     * 
+     * @param config The configuration for the client.
+     * @param httpClient Custom HTTP client.
+     * @param objectMapper JSON object mapper.
+     * @param eventListener The listener of the calls.
+     * @return A configured GroqApiClient instance.
+     */
+    public static GroqApiClient createClient(
+            GroqApiConfig config,
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            GroqEventListener eventListener) {
+        return new GroqApiClient(config, httpClient, objectMapper, eventListener);
+    }
+}
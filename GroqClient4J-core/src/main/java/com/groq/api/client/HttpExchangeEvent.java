@@ -0,0 +1,55 @@
+package com.groq.api.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one HTTP exchange with the API, from sending the request until its
+ * response was read and parsed. Retried and hedged requests record one event per attempt.
+ */
+@Name("com.groq.api.HttpExchange")
+@Label("Groq HTTP Exchange")
+@Category("Groq")
+@Description("One HTTP request to the Groq API, from sending it until its response was parsed")
+@StackTrace(false)
+final class HttpExchangeEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(HttpExchangeEvent.class);
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Model")
+    String model;
+
+    @Label("Status Code")
+    int statusCode;
+
+    @Label("Request Size")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Prompt Tokens")
+    long promptTokens;
+
+    @Label("Completion Tokens")
+    long completionTokens;
+
+    /**
+     * Returns whether a recording is taking these events, so no event is created otherwise.
+     *
+     * @return Whether the event is enabled.
+     */
+    static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,266 @@
+package com.groq.api.client;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.config.GroqApiConfig;
+import com.groq.api.models.ModelInfo;
+import com.groq.api.utils.JsonUtils;
+
+/**
+ * In-memory index of the available models, built from {@link ModelsService#listModels()}.
+ * <p>
+ * Lookups never wait on the network: they read an immutable snapshot indexed by model ID. The
+ * first lookup starts loading the list in the background; until it arrives, lookups fall back to
+ * the static model information of {@link GroqApiConfig}. A lookup made when the list is close to
+ * the end of its time to live starts a refresh in the background, so the list is kept fresh while
+ * it is used and a catalog nobody reads makes no requests. A failed load keeps serving the previous
+ * list and is retried by a lookup after a delay.
+ */
+public final class ModelCatalog implements AutoCloseable {
+    /**
+     * The default time to live of the model list.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private static final double REFRESH_AHEAD_FACTOR = 0.8;
+    private static final long MIN_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final ModelsService models;
+    private final long ttlMillis;
+    private final Set<String> visionModelMarkers;
+    private final AtomicReference<CompletableFuture<Void>> refreshing = new AtomicReference<>();
+    private volatile Map<String, ModelInfo> index = Map.of();
+    private volatile long loadedAt;
+    private volatile long retryAt;
+    private volatile boolean closed;
+
+    /**
+     * Creates a catalog that recognizes vision models by
+     * {@link GroqApiConfig#DEFAULT_VISION_MODEL_MARKERS}. Nothing is loaded until the first lookup
+     * or {@link #refresh()}.
+     *
+     * @param models The service listing the models.
+     * @param ttl How long a loaded model list is considered fresh.
+     */
+    public ModelCatalog(ModelsService models, Duration ttl) {
+        this(models, ttl, GroqApiConfig.DEFAULT_VISION_MODEL_MARKERS);
+    }
+
+    /**
+     * Creates a catalog. Nothing is loaded until the first lookup or {@link #refresh()}.
+     *
+     * @param models The service listing the models.
+     * @param ttl How long a loaded model list is considered fresh.
+     * @param visionModelMarkers The parts of a model ID that mark a model accepting images.
+     */
+    public ModelCatalog(ModelsService models, Duration ttl, Set<String> visionModelMarkers) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + ttl);
+        }
+        this.models = Objects.requireNonNull(models, "models");
+        this.ttlMillis = ttl.toMillis();
+        this.visionModelMarkers = Set.copyOf(Objects.requireNonNull(visionModelMarkers, "visionModelMarkers"));
+    }
+
+    /**
+     * Loads the model list now, unless a load is already running.
+     * Lookups keep answering from the previous list meanwhile.
+     *
+     * @return A CompletableFuture that completes once the list has been loaded.
+     */
+    public CompletableFuture<Void> refresh() {
+        while (true) {
+            CompletableFuture<Void> running = refreshing.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Void> next = new CompletableFuture<>();
+            if (refreshing.compareAndSet(null, next)) {
+                load(next);
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Returns the information of a model.
+     *
+     * @param modelId The model ID.
+     * @return The model, or empty if it is not listed or the list has not been loaded yet.
+     */
+    public Optional<ModelInfo> find(String modelId) {
+        refreshIfDue();
+        return Optional.ofNullable(modelId == null ? null : index.get(modelId));
+    }
+
+    /**
+     * Returns whether a model is listed and active. Before the list is loaded, every model is
+     * assumed to be available, leaving the decision to the API.
+     *
+     * @param modelId The model ID.
+     * @return true if the model can be used.
+     */
+    public boolean isAvailable(String modelId) {
+        refreshIfDue();
+        if (!isLoaded()) {
+            return true;
+        }
+        ModelInfo model = modelId == null ? null : index.get(modelId);
+        return model != null && model.isActive();
+    }
+
+    /**
+     * Returns whether a model accepts images. The models endpoint does not report this, so a
+     * model accepts images if it is one of {@link GroqApiConfig#VISION_MODELS} or its ID contains
+     * one of the vision model markers of this catalog. Once the list is loaded, the model must
+     * also be listed and active; before, the ID alone decides.
+     *
+     * @param modelId The model ID.
+     * @return true if the model is known to accept images.
+     */
+    public boolean isVisionCapable(String modelId) {
+        refreshIfDue();
+        if (modelId == null) {
+            return false;
+        }
+        if (!isLoaded()) {
+            return isVisionModelId(modelId);
+        }
+        ModelInfo model = index.get(modelId);
+        return model != null && model.isActive() && isVisionModelId(modelId);
+    }
+
+    /**
+     * Returns the context window of a model.
+     *
+     * @param modelId The model ID.
+     * @return The number of tokens, or empty if unknown.
+     */
+    public OptionalInt contextWindow(String modelId) {
+        Integer contextWindow = find(modelId).map(ModelInfo::contextWindow).orElse(null);
+        return contextWindow == null ? OptionalInt.empty() : OptionalInt.of(contextWindow);
+    }
+
+    /**
+     * Returns all listed models.
+     *
+     * @return An unmodifiable view of the models, empty until the list is loaded.
+     */
+    public Collection<ModelInfo> models() {
+        refreshIfDue();
+        return index.values();
+    }
+
+    /**
+     * Returns whether a model list has been loaded.
+     *
+     * @return true once the first load succeeded.
+     */
+    public boolean isLoaded() {
+        return loadedAt != 0;
+    }
+
+    /**
+     * Returns whether the loaded list is older than the time to live, which happens when
+     * refreshes keep failing or the catalog has not been read for a while.
+     *
+     * @return true if the list is missing or outdated.
+     */
+    public boolean isStale() {
+        return !isLoaded() || System.currentTimeMillis() - loadedAt > ttlMillis;
+    }
+
+    /**
+     * Stops refreshing the list on lookups. Lookups keep answering from the last loaded list.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Starts a background load if the list is missing or due for a refresh, unless one is
+     * already running or the last one failed too recently.
+     */
+    private void refreshIfDue() {
+        if (closed || refreshing.get() != null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - retryAt < 0) {
+            return;
+        }
+        if (!isLoaded() || now - loadedAt >= (long) (ttlMillis * REFRESH_AHEAD_FACTOR)) {
+            refresh();
+        }
+    }
+
+    private void load(CompletableFuture<Void> result) {
+        CompletableFuture<JsonNode> response;
+        try {
+            response = models.listModels();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        
+        response.whenComplete((json, throwable) -> {
+            Throwable failure = throwable;
+            if (failure == null) {
+                try {
+                    index = buildIndex(json);
+                    loadedAt = System.currentTimeMillis();
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            
+            if (failure == null) {
+                retryAt = 0;
+                refreshing.set(null);
+                result.complete(null);
+            } else {
+                retryAt = System.currentTimeMillis() + Math.max(MIN_RETRY_DELAY_MILLIS, ttlMillis / 10);
+                refreshing.set(null);
+                result.completeExceptionally(failure);
+            }
+        });
+    }
+
+    private static Map<String, ModelInfo> buildIndex(JsonNode response) {
+        JsonNode data = response.path("data");
+        if (!data.isArray()) {
+            throw new IllegalStateException("Unexpected models response: " + response);
+        }
+        Map<String, ModelInfo> models = new HashMap<>(data.size() * 2);
+        for (JsonNode node : data) {
+            ModelInfo model = JsonUtils.mapper().convertValue(node, ModelInfo.class);
+            if (model.id() != null) {
+                models.put(model.id(), model);
+            }
+        }
+        return Map.copyOf(models);
+    }
+
+    private boolean isVisionModelId(String modelId) {
+        if (GroqApiConfig.VISION_MODELS.contains(modelId)) {
+            return true;
+        }
+        for (String marker : visionModelMarkers) {
+            if (modelId.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
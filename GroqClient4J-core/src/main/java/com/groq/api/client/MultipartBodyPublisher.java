@@ -0,0 +1,285 @@
+package com.groq.api.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Helper class for building streaming multipart/form-data request bodies.
+ * File contents are never loaded onto the heap as a whole: they are read in fixed-size chunks
+ * while the HTTP client writes the request, and only as fast as the connection accepts them.
+ * When the size of every part is known, the body reports an exact content length; otherwise the
+ * request is sent with chunked transfer encoding.
+ */
+final class MultipartBodyPublisher {
+    /**
+     * The size of the chunks file contents are read in.
+     */
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final String LINE_BREAK = "\r\n";
+
+    private final String boundary = "----GroqApiClientBoundary" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final List<BodyPublisher> parts = new ArrayList<>();
+    private final AtomicLong fileBytes = new AtomicLong();
+
+    /**
+     * Adds a text field.
+     *
+     * @param name The field name.
+     * @param value The field value.
+     * @return This publisher.
+     */
+    MultipartBodyPublisher addPart(String name, String value) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("--").append(boundary).append(LINE_BREAK);
+        builder.append("Content-Disposition: form-data; name=\"").append(name).append("\"");
+        builder.append(LINE_BREAK).append(LINE_BREAK);
+        builder.append(value).append(LINE_BREAK);
+        parts.add(BodyPublishers.ofByteArray(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        return this;
+    }
+
+    /**
+     * Adds a file field read from a stream of unknown length.
+     * The stream is consumed while the request is written, on a thread of the HTTP client, and
+     * closed once read, so the body can be sent only once and the caller must keep the stream
+     * open until the request is over.
+     *
+     * @param name The field name.
+     * @param filename The file name reported to the server.
+     * @param data The file contents.
+     * @return This publisher.
+     */
+    MultipartBodyPublisher addPart(String name, String filename, InputStream data) {
+        AtomicBoolean consumed = new AtomicBoolean();
+        return addFilePart(name, filename, new ChannelPublisher(-1, fileBytes, () -> {
+            if (!consumed.compareAndSet(false, true)) {
+                throw new IOException("The upload stream of '" + filename + "' was already sent and cannot be replayed");
+            }
+            return Channels.newChannel(data);
+        }));
+    }
+
+    /**
+     * Adds a file field read from the file system. The size is known up front and the file is
+     * reopened for every subscription, so the body can be replayed.
+     *
+     * @param name The field name.
+     * @param file The file to upload.
+     * @return This publisher.
+     * @throws IOException If the size of the file cannot be read.
+     */
+    MultipartBodyPublisher addPart(String name, Path file) throws IOException {
+        long size = Files.size(file);
+        return addFilePart(name, String.valueOf(file.getFileName()), new ChannelPublisher(
+            size,
+            fileBytes,
+            () -> FileChannel.open(file, StandardOpenOption.READ)
+        ));
+    }
+
+    /**
+     * Finishes the body. Must be called once, after all parts were added.
+     *
+     * @return A body publisher streaming all parts in order.
+     */
+    BodyPublisher build() {
+        parts.add(BodyPublishers.ofByteArray(("--" + boundary + "--" + LINE_BREAK).getBytes(StandardCharsets.UTF_8)));
+        return BodyPublishers.concat(parts.toArray(new BodyPublisher[0]));
+    }
+
+    /**
+     * Returns the bytes of file contents written so far, summed over every time the body was sent.
+     *
+     * @return The bytes of file contents sent.
+     */
+    long fileBytesSent() {
+        return fileBytes.get();
+    }
+
+    /**
+     * Returns the value of the Content-Type header for this body.
+     *
+     * @return The multipart content type including the boundary.
+     */
+    String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    private MultipartBodyPublisher addFilePart(String name, String filename, BodyPublisher contents) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("--").append(boundary).append(LINE_BREAK);
+        builder.append("Content-Disposition: form-data; name=\"").append(name)
+               .append("\"; filename=\"").append(filename.replace("\"", "%22")).append("\"");
+        builder.append(LINE_BREAK);
+        builder.append("Content-Type: application/octet-stream");
+        builder.append(LINE_BREAK).append(LINE_BREAK);
+        parts.add(BodyPublishers.ofByteArray(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        parts.add(contents);
+        parts.add(BodyPublishers.ofByteArray(LINE_BREAK.getBytes(StandardCharsets.UTF_8)));
+        return this;
+    }
+
+    /**
+     * Opens the channel a file part is read from.
+     */
+    @FunctionalInterface
+    private interface ChannelSource {
+        ReadableByteChannel open() throws IOException;
+    }
+
+    /**
+     * Body publisher that reads a channel in {@link #CHUNK_SIZE} chunks on demand.
+     * Every subscription opens its own channel.
+     */
+    private static final class ChannelPublisher implements BodyPublisher {
+        private final long contentLength;
+        private final AtomicLong sent;
+        private final ChannelSource source;
+
+        ChannelPublisher(long contentLength, AtomicLong sent, ChannelSource source) {
+            this.contentLength = contentLength;
+            this.sent = sent;
+            this.source = source;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            ChannelSubscription subscription = new ChannelSubscription(subscriber, sent, source);
+            subscriber.onSubscribe(subscription);
+        }
+    }
+
+    private static final class ChannelSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong sent;
+        private final ChannelSource source;
+        private volatile ReadableByteChannel channel;
+        private long demand;
+        private boolean emitting;
+        private boolean done;
+
+        ChannelSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, AtomicLong sent, ChannelSource source) {
+            this.subscriber = subscriber;
+            this.sent = sent;
+            this.source = source;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (n <= 0) {
+                    done = true;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    if (emitting) {
+                        // Re-entrant request from onNext: the emitting loop picks up the demand
+                        return;
+                    }
+                    emitting = true;
+                }
+            }
+            if (n <= 0) {
+                closeChannel();
+                subscriber.onError(new IllegalArgumentException("Requested items must be positive: " + n));
+                return;
+            }
+            emit();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                done = true;
+                if (emitting) {
+                    return;
+                }
+            }
+            closeChannel();
+        }
+
+        private void emit() {
+            try {
+                if (channel == null) {
+                    channel = source.open();
+                }
+                while (true) {
+                    synchronized (this) {
+                        if (done || demand == 0) {
+                            emitting = false;
+                            if (done) {
+                                break;
+                            }
+                            return;
+                        }
+                        demand--;
+                    }
+
+                    ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+                    int read = 0;
+                    while (chunk.hasRemaining() && (read = channel.read(chunk)) >= 0) {
+                        // Fill the chunk unless the channel ends
+                    }
+                    chunk.flip();
+                    if (chunk.hasRemaining()) {
+                        sent.addAndGet(chunk.remaining());
+                        subscriber.onNext(chunk);
+                    }
+                    if (read < 0) {
+                        synchronized (this) {
+                            done = true;
+                            emitting = false;
+                        }
+                        closeChannel();
+                        subscriber.onComplete();
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    done = true;
+                    emitting = false;
+                }
+                closeChannel();
+                subscriber.onError(e);
+                return;
+            }
+            closeChannel();
+        }
+
+        private void closeChannel() {
+            ReadableByteChannel current = channel;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    // Nothing left to read from it
+                }
+            }
+        }
+    }
+}
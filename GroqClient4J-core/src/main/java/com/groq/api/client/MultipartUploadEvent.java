@@ -0,0 +1,51 @@
+package com.groq.api.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one audio upload, from sending the multipart request, including its
+ * retries, until the response was parsed.
+ */
+@Name("com.groq.api.MultipartUpload")
+@Label("Groq Multipart Upload")
+@Category("Groq")
+@Description("One audio upload to a transcription or translation endpoint")
+@StackTrace(false)
+final class MultipartUploadEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(MultipartUploadEvent.class);
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Model")
+    String model;
+
+    @Label("Content Length")
+    @Description("The declared size of the body, or -1 if the file was read from a stream")
+    @DataAmount
+    long contentLength;
+
+    @Label("File Bytes Sent")
+    @Description("The bytes of file contents written to the connection, over all attempts")
+    @DataAmount
+    long fileBytes;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Returns whether a recording is taking these events, so no event is created otherwise.
+     *
+     * @return Whether the event is enabled.
+     */
+    static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
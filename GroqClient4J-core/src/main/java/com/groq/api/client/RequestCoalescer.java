@@ -0,0 +1,158 @@
+package com.groq.api.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets concurrent identical requests share one in-flight call ("single flight").
+ * <p>
+ * The first caller for a key starts the call; callers arriving while it runs join it. Every
+ * caller receives its own future, so cancelling one does not affect the others. The shared call
+ * is only cancelled once all of its callers have cancelled. A key is forgotten as soon as its
+ * call completes, so results are never reused by later requests; that is the job of a cache.
+ */
+final class RequestCoalescer {
+    private final ConcurrentHashMap<String, Flight<?>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the call for the key, or joins the one already in flight.
+     *
+     * @param key The key identifying identical requests, including the endpoint.
+     * @param call Starts the request. Only invoked if no identical request is in flight.
+     * @param copy Creates each caller's own copy of the result, for mutable results.
+     * @param <T> The type of the result.
+     * @return A future for this caller only.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call, UnaryOperator<T> copy) {
+        while (true) {
+            Flight<T> created = new Flight<>(key, copy);
+            Flight<T> flight = (Flight<T>) flights.putIfAbsent(key, created);
+            if (flight == null) {
+                flight = created;
+            }
+            
+            CompletableFuture<T> caller = flight.join();
+            if (caller == null) {
+                // The flight finished between the lookup and the join
+                flights.remove(key, flight);
+                continue;
+            }
+            if (flight == created) {
+                created.start(call);
+            }
+            return caller;
+        }
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     *
+     * @return The number of in-flight requests.
+     */
+    int inFlight() {
+        return flights.size();
+    }
+
+    private final class Flight<T> {
+        private final String key;
+        private final UnaryOperator<T> copy;
+        private final List<CompletableFuture<T>> callers = new ArrayList<>();
+        private CompletableFuture<T> upstream;
+        private int active;
+        private boolean closed;
+
+        Flight(String key, UnaryOperator<T> copy) {
+            this.key = key;
+            this.copy = copy;
+        }
+
+        CompletableFuture<T> join() {
+            CompletableFuture<T> caller = new CompletableFuture<>();
+            synchronized (this) {
+                if (closed) {
+                    return null;
+                }
+                callers.add(caller);
+                active++;
+            }
+            caller.whenComplete((result, throwable) -> {
+                if (caller.isCancelled()) {
+                    leave();
+                }
+            });
+            return caller;
+        }
+
+        void start(Supplier<CompletableFuture<T>> call) {
+            synchronized (this) {
+                if (closed) {
+                    // Every caller left before the call was started
+                    return;
+                }
+            }
+            
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            
+            boolean cancel;
+            synchronized (this) {
+                upstream = future;
+                cancel = closed;
+            }
+            if (cancel) {
+                future.cancel(true);
+                return;
+            }
+            future.whenComplete(this::finish);
+        }
+
+        private void leave() {
+            CompletableFuture<T> toCancel = null;
+            synchronized (this) {
+                if (closed || --active > 0) {
+                    return;
+                }
+                closed = true;
+                toCancel = upstream;
+            }
+            flights.remove(key, this);
+            if (toCancel != null) {
+                toCancel.cancel(true);
+            }
+        }
+
+        private void finish(T result, Throwable throwable) {
+            List<CompletableFuture<T>> waiting;
+            synchronized (this) {
+                closed = true;
+                waiting = new ArrayList<>(callers);
+                callers.clear();
+            }
+            flights.remove(key, this);
+            
+            if (throwable != null) {
+                waiting.forEach(caller -> caller.completeExceptionally(throwable));
+                return;
+            }
+            
+            // Copies are taken before any caller can see, and possibly modify, the shared result
+            List<T> results = new ArrayList<>(waiting.size());
+            results.add(result);
+            for (int i = 1; i < waiting.size(); i++) {
+                results.add(copy.apply(result));
+            }
+            for (int i = 0; i < waiting.size(); i++) {
+                waiting.get(i).complete(results.get(i));
+            }
+        }
+    }
+}
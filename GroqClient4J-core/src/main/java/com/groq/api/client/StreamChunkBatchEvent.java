@@ -0,0 +1,52 @@
+package com.groq.api.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a batch of consecutive chunks of a streamed chat completion, from the
+ * first chunk of the batch until the last one was decoded. Recording every chunk on its own would
+ * cost more than decoding it.
+ */
+@Name("com.groq.api.StreamChunkBatch")
+@Label("Groq Stream Chunk Batch")
+@Category("Groq")
+@Description("Consecutive chunks of a streamed chat completion")
+@StackTrace(false)
+final class StreamChunkBatchEvent extends Event {
+    /**
+     * The number of chunks in a batch; the last batch of a stream may be smaller.
+     */
+    static final int BATCH_SIZE = 64;
+
+    private static final EventType TYPE = EventType.getEventType(StreamChunkBatchEvent.class);
+
+    @Label("Model")
+    String model;
+
+    @Label("Chunks")
+    int chunks;
+
+    @Label("Content Chunks")
+    @Description("Chunks carrying generated content, about one token each")
+    int contentChunks;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Returns whether a recording is taking these events, so no event is created otherwise.
+     *
+     * @return Whether the event is enabled.
+     */
+    static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
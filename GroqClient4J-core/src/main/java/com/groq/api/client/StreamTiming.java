@@ -0,0 +1,172 @@
+package com.groq.api.client;
+
+import java.util.function.Predicate;
+
+import com.groq.api.events.GroqEventListener;
+import com.groq.api.metrics.EndpointMetrics;
+import com.groq.api.streaming.SseStreamPublisher;
+
+/**
+ * Measures one streamed request for the metrics registry and the event listener: the queue wait,
+ * the time to headers, the time to the first content chunk, the gaps between content chunks, and
+ * the generation rate. While Flight Recorder takes them, it also records the chunks as
+ * {@link StreamChunkBatchEvent}s. The exchange listener and the frame decoder of the stream both
+ * report to it.
+ */
+final class StreamTiming {
+    private final EndpointMetrics metrics;
+    private final CallTrace trace;
+    private final String model;
+    private final boolean chunkEvents;
+    private volatile long queuedAt;
+    private volatile long sentAt;
+    private volatile long headersAt;
+    private volatile int statusCode;
+    private boolean firstFrame;
+    private long firstContentAt;
+    private long lastContentAt;
+    private long contentChunks;
+    private long bytes;
+    private StreamChunkBatchEvent batch;
+
+    /**
+     * Creates the timing of one stream.
+     *
+     * @param metrics The metrics to record into, or null.
+     * @param trace The trace to report the phases to, or null.
+     * @param model The model of the stream, or null.
+     * @param chunkEvents Whether to record the chunks as Flight Recorder events.
+     * @param requestBytes The size of the request body.
+     */
+    StreamTiming(EndpointMetrics metrics, CallTrace trace, String model, boolean chunkEvents, int requestBytes) {
+        this.metrics = metrics;
+        this.trace = trace;
+        this.model = model;
+        this.chunkEvents = chunkEvents;
+        if (metrics != null) {
+            metrics.recordRequestBytes(requestBytes);
+        }
+    }
+
+    /**
+     * Wraps a decoder so every decoded frame is timed. Frames are decoded one at a time, in order.
+     *
+     * @param decoder The decoder of the stream.
+     * @param hasContent Whether a decoded frame carries generated content.
+     * @param <T> The type of the decoded frames.
+     * @return The timing decoder.
+     */
+    <T> SseStreamPublisher.FrameDecoder<T> decoder(SseStreamPublisher.FrameDecoder<T> decoder, Predicate<T> hasContent) {
+        return (buffer, offset, length) -> {
+            if (!firstFrame) {
+                firstFrame = true;
+                if (trace != null) {
+                    trace.phase(GroqEventListener.Phase.FIRST_BYTE, headersAt);
+                }
+            }
+            if (chunkEvents && batch == null) {
+                batch = new StreamChunkBatchEvent();
+                batch.begin();
+            }
+            T item = decoder.decode(buffer, offset, length);
+            bytes += length;
+            boolean content = (metrics != null || chunkEvents) && hasContent.test(item);
+            if (chunkEvents) {
+                batch.chunks++;
+                batch.bytes += length;
+                if (content) {
+                    batch.contentChunks++;
+                }
+                if (batch.chunks == StreamChunkBatchEvent.BATCH_SIZE) {
+                    commitBatch();
+                }
+            }
+            if (metrics != null && content) {
+                long now = System.nanoTime();
+                if (contentChunks == 0) {
+                    firstContentAt = now;
+                    metrics.recordTimeToFirstToken(now - sentAt);
+                } else {
+                    metrics.recordInterTokenGap(now - lastContentAt);
+                }
+                lastContentAt = now;
+                contentChunks++;
+            }
+            return item;
+        };
+    }
+
+    void onQueued() {
+        queuedAt = System.nanoTime();
+    }
+
+    void onAdmitted() {
+        long now = System.nanoTime();
+        if (metrics != null) {
+            metrics.recordQueueWait(now - queuedAt);
+        }
+        if (trace != null) {
+            trace.phase(GroqEventListener.Phase.QUEUE, queuedAt, now);
+        }
+    }
+
+    void onSend() {
+        sentAt = System.nanoTime();
+        statusCode = 0;
+    }
+
+    void onResponse(int statusCode) {
+        long now = System.nanoTime();
+        this.statusCode = statusCode;
+        headersAt = now;
+        if (metrics != null) {
+            metrics.recordResponse(statusCode, now - sentAt);
+        }
+        if (trace != null) {
+            trace.phase(GroqEventListener.Phase.HEADERS, sentAt, now);
+        }
+    }
+
+    void onFailure() {
+        if (metrics != null) {
+            metrics.recordFailure();
+        }
+    }
+
+    void onComplete(Throwable failure) {
+        if (batch != null) {
+            commitBatch();
+        }
+        if (failure != null || statusCode < 200 || statusCode >= 300) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (trace != null) {
+            trace.phase(GroqEventListener.Phase.PARSE, headersAt, now);
+        }
+        if (metrics == null) {
+            return;
+        }
+        metrics.recordLatency(now - sentAt);
+        metrics.recordResponseBytes(bytes);
+        if (contentChunks > 1 && lastContentAt > firstContentAt) {
+            // Groq streams about one token per content chunk
+            metrics.recordTokensPerSecond(Math.round((contentChunks - 1) * 1e9 / (lastContentAt - firstContentAt)));
+        }
+    }
+
+    private void commitBatch() {
+        batch.end();
+        if (batch.shouldCommit()) {
+            batch.model = model;
+            batch.commit();
+        }
+        batch = null;
+    }
+
+    void onTerminate(Throwable failure) {
+        if (trace != null) {
+            trace.end(failure);
+        }
+    }
+}
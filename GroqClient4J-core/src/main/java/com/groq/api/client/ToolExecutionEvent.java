@@ -0,0 +1,45 @@
+package com.groq.api.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one tool run in a conversation with tools, from starting the tool
+ * until its result was available.
+ */
+@Name("com.groq.api.ToolExecution")
+@Label("Groq Tool Execution")
+@Category("Groq")
+@Description("One tool run in a conversation with tools")
+@StackTrace(false)
+final class ToolExecutionEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(ToolExecutionEvent.class);
+
+    @Label("Model")
+    String model;
+
+    @Label("Tool")
+    String toolName;
+
+    @Label("Arguments Size")
+    @DataAmount
+    long argumentsBytes;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Returns whether a recording is taking these events, so no event is created otherwise.
+     *
+     * @return Whether the event is enabled.
+     */
+    static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
@@ -2,7 +2,9 @@ package com.groq.api.client;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
+import com.groq.api.models.ConversationEvent;
 import com.groq.api.models.Tool;
 
 /**
@@ -24,4 +26,40 @@ public interface ToolsService {
         String model,
         String systemMessage
     );
+    
+    /**
+     * Runs a conversation with tools, streaming every turn. Each tool call is started as soon as
+     * its arguments are complete in the stream, overlapping the tools with the rest of the turn.
+     *
+     * @param userPrompt The user's prompt or message.
+     * @param tools The list of tools to make available.
+     * @param model The model to use.
+     * @param systemMessage Optional system message.
+     * @return A CompletableFuture that will complete with the response text.
+     */
+    CompletableFuture<String> runStreamingConversationWithTools(
+        String userPrompt,
+        List<Tool> tools,
+        String model,
+        String systemMessage
+    );
+    
+    /**
+     * Runs a conversation with tools and publishes its progress. Tool turns run as usual and are
+     * reported as events, while the final answer is published token by token as it is generated.
+     * The conversation starts when a subscriber subscribes; the publisher accepts a single
+     * subscriber.
+     *
+     * @param userPrompt The user's prompt or message.
+     * @param tools The list of tools to make available.
+     * @param model The model to use.
+     * @param systemMessage Optional system message.
+     * @return A publisher of the events of the conversation.
+     */
+    Flow.Publisher<ConversationEvent> streamConversationWithTools(
+        String userPrompt,
+        List<Tool> tools,
+        String model,
+        String systemMessage
+    );
 }
\ No newline at end of file
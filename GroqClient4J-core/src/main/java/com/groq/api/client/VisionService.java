@@ -3,6 +3,8 @@ package com.groq.api.client;
 import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionRequest;
 
 /**
  * Service interface for vision operations.
@@ -16,6 +18,14 @@ public interface VisionService {
      */
     CompletableFuture<JsonNode> createVisionCompletion(JsonNode request);
     
+    /**
+     * Creates a vision completion with a typed request.
+     *
+     * @param request The request parameters, with image parts in the user message content.
+     * @return A CompletableFuture that will complete with the completion.
+     */
+    CompletableFuture<ChatCompletion> createVisionCompletion(ChatCompletionRequest request);
+    
     /**
      * Creates a vision completion with an image URL.
      *
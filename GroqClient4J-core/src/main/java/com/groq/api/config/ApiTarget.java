@@ -0,0 +1,50 @@
+package com.groq.api.config;
+
+import java.util.Objects;
+
+/**
+ * An API key and the base URL requests with that key are sent to, one member of the pool of a
+ * {@link com.groq.api.resilience.LoadBalancer}.
+ *
+ * @param apiKey The API key for authentication.
+ * @param baseUrl The base URL of the API, such as a regional gateway.
+ */
+public record ApiTarget(String apiKey, String baseUrl) {
+    /**
+     * Creates a target, rejecting missing values.
+     */
+    public ApiTarget {
+        Objects.requireNonNull(apiKey, "apiKey");
+        Objects.requireNonNull(baseUrl, "baseUrl");
+    }
+
+    /**
+     * Creates a target that sends requests with the given key to the default base URL.
+     *
+     * @param apiKey The API key for authentication.
+     * @return A new ApiTarget instance.
+     */
+    public static ApiTarget of(String apiKey) {
+        return new ApiTarget(apiKey, GroqApiConfig.DEFAULT_BASE_URL);
+    }
+
+    /**
+     * Returns the full URL for the specified endpoint.
+     *
+     * @param endpoint The API endpoint to append to the base URL.
+     * @return The complete URL for the specified endpoint.
+     */
+    public String getFullUrl(String endpoint) {
+        return baseUrl + endpoint;
+    }
+
+    /**
+     * Returns the target with all but the last four characters of its API key masked, so it can
+     * be logged.
+     */
+    @Override
+    public String toString() {
+        String suffix = apiKey.length() > 4 ? apiKey.substring(apiKey.length() - 4) : "";
+        return "ApiTarget[apiKey=..." + suffix + ", baseUrl=" + baseUrl + "]";
+    }
+}
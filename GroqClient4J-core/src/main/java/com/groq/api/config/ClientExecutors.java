@@ -0,0 +1,89 @@
+package com.groq.api.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the blocking work of the Groq API client: HTTP response handling, tool
+ * execution, image encoding and multipart body preparation.
+ * <p>
+ * The library targets Java 17, so virtual threads are looked up at runtime. On Java 21 or newer
+ * {@link #virtualThreads()} returns a virtual-thread-per-task executor, which lets thousands of
+ * concurrent requests and streams wait without each holding a platform thread.
+ */
+public final class ClientExecutors {
+    private static final ExecutorService VIRTUAL_THREADS = createVirtualThreadExecutor();
+
+    private ClientExecutors() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Returns the shared default executor, a cached pool of daemon platform threads.
+     *
+     * @return The default executor.
+     */
+    public static ExecutorService defaultExecutor() {
+        return DefaultExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads.
+     *
+     * @return true on Java 21 or newer.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Returns a shared executor that starts a new virtual thread for each task.
+     *
+     * @return The virtual thread executor.
+     * @throws UnsupportedOperationException If the JVM is older than Java 21.
+     */
+    public static ExecutorService virtualThreads() {
+        if (VIRTUAL_THREADS == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+        }
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * Returns the virtual thread executor when supported, or the default executor otherwise.
+     *
+     * @return The preferred executor for this JVM.
+     */
+    public static ExecutorService virtualThreadsIfSupported() {
+        return VIRTUAL_THREADS != null ? VIRTUAL_THREADS : defaultExecutor();
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(
+                Executors.class,
+                "newVirtualThreadPerTaskExecutor",
+                MethodType.methodType(ExecutorService.class)
+            );
+            return (ExecutorService) factory.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException | UnsupportedOperationException e) {
+            // Older JVM, or a JVM where virtual threads are still a preview feature
+            return null;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create the virtual thread executor", e);
+        }
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "groq-client-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
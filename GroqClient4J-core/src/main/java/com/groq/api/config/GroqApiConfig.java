@@ -1,14 +1,53 @@
 package com.groq.api.config;
 
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+
+import com.groq.api.metrics.MetricsRegistry;
+import com.groq.api.resilience.CircuitBreaker;
+import com.groq.api.resilience.ConcurrencyLimiter;
+import com.groq.api.resilience.HedgingPolicy;
+import com.groq.api.resilience.LoadBalancer;
+import com.groq.api.resilience.RateLimiter;
+import com.groq.api.resilience.RetryPolicy;
 
 /**
  * Configuration class for the Groq API client.
+ *
+ * @param apiKey The API key for authentication.
+ * @param baseUrl The base URL of the API.
+ * @param maxBase64SizeMB The maximum size of Base64-encoded images.
+ * @param executor The executor used for all blocking client work, see {@link ClientExecutors}.
+ * @param coalesceRequests Whether concurrent identical chat completion and model list requests
+ *        share a single HTTP exchange.
+ * @param rateLimiter The limiter requests wait for before they are sent, or null for none.
+ * @param retryPolicy The policy failed requests are retried with, or null for no retries.
+ * @param concurrencyLimiter The limiter bounding concurrent requests per model, or null for none.
+ * @param hedgingPolicy The policy slow chat completion requests are hedged with, or null for none.
+ * @param circuitBreaker The circuit breaker that fails requests fast while the API is failing,
+ *        or null for none.
+ * @param loadBalancer The load balancer spreading requests over a pool of API keys and base URLs,
+ *        or null to send every request with apiKey to baseUrl.
+ * @param metricsRegistry The registry latencies, sizes and throughput are recorded into, or null
+ *        to record nothing.
+ * @param visionModelMarkers The parts of a model ID that mark a listed model as accepting images,
+ *        or null for {@link #DEFAULT_VISION_MODEL_MARKERS}.
  */
 public record GroqApiConfig(
     String apiKey,
     String baseUrl,
-    int maxBase64SizeMB
+    int maxBase64SizeMB,
+    Executor executor,
+    boolean coalesceRequests,
+    RateLimiter rateLimiter,
+    RetryPolicy retryPolicy,
+    ConcurrencyLimiter concurrencyLimiter,
+    HedgingPolicy hedgingPolicy,
+    CircuitBreaker circuitBreaker,
+    LoadBalancer loadBalancer,
+    MetricsRegistry metricsRegistry,
+    Set<String> visionModelMarkers
 ) {
     public static final String DEFAULT_BASE_URL = "https://api.groq.com/openai/v1";
     public static final String CHAT_COMPLETIONS_ENDPOINT = "/chat/completions";
@@ -20,11 +59,34 @@ public record GroqApiConfig(
     public static final String VISION_MODEL_90B = "llama-3.2-90b-vision-preview";
     public static final String VISION_MODEL_11B = "llama-3.2-11b-vision-preview";
     public static final Set<String> VISION_MODELS = Set.of(VISION_MODEL_90B, VISION_MODEL_11B);
+    public static final Set<String> DEFAULT_VISION_MODEL_MARKERS = Set.of("vision", "llama-4-scout", "llama-4-maverick");
     
     // Size limits
     public static final int MAX_IMAGE_SIZE_MB = 20;
     public static final int MAX_BASE64_SIZE_MB = 4;
     
+    /**
+     * Creates a config, using the default executor and vision model markers when none are given.
+     */
+    public GroqApiConfig {
+        if (executor == null) {
+            executor = ClientExecutors.defaultExecutor();
+        }
+        visionModelMarkers = visionModelMarkers == null ? DEFAULT_VISION_MODEL_MARKERS : Set.copyOf(visionModelMarkers);
+    }
+    
+    /**
+     * Creates a config with the default executor and vision model markers and no optional
+     * components. Use the {@code with} methods to add them.
+     *
+     * @param apiKey The API key for authentication.
+     * @param baseUrl The base URL of the API.
+     * @param maxBase64SizeMB The maximum size of Base64-encoded images.
+     */
+    public GroqApiConfig(String apiKey, String baseUrl, int maxBase64SizeMB) {
+        this(apiKey, baseUrl, maxBase64SizeMB, null, false, null, null, null, null, null, null, null, null);
+    }
+    
     /**
      * Creates a config with default values for baseUrl and maxBase64SizeMB.
      *
@@ -32,7 +94,164 @@ public record GroqApiConfig(
      * @return A new GroqApiConfig instance.
      */
     public static GroqApiConfig create(String apiKey) {
-        return new GroqApiConfig(apiKey, DEFAULT_BASE_URL, MAX_BASE64_SIZE_MB);
+        return create(apiKey, DEFAULT_BASE_URL);
+    }
+    
+    /**
+     * Creates a config that sends requests to the given base URL, with the default value for
+     * maxBase64SizeMB.
+     *
+     * @param apiKey The API key for authentication.
+     * @param baseUrl The base URL of the API.
+     * @return A new GroqApiConfig instance.
+     */
+    public static GroqApiConfig create(String apiKey, String baseUrl) {
+        return new GroqApiConfig(apiKey, baseUrl, MAX_BASE64_SIZE_MB);
+    }
+    
+    /**
+     * Creates a config that spreads requests over a pool of API keys and base URLs, preferring
+     * the least loaded target.
+     *
+     * @param targets The API keys and base URLs.
+     * @return A new GroqApiConfig instance.
+     */
+    public static GroqApiConfig create(List<ApiTarget> targets) {
+        LoadBalancer loadBalancer = LoadBalancer.create(targets);
+        ApiTarget primary = targets.get(0);
+        return create(primary.apiKey(), primary.baseUrl()).withLoadBalancer(loadBalancer);
+    }
+    
+    /**
+     * Returns a copy of this config that runs blocking work on the given executor.
+     *
+     * @param executor The executor for blocking client work.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withExecutor(Executor executor) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config with request coalescing turned on or off.
+     * When on, concurrent calls with the same canonical request body to the same endpoint share
+     * one in-flight request, and each caller still receives its own future.
+     *
+     * @param coalesceRequests Whether to coalesce identical in-flight requests.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withCoalesceRequests(boolean coalesceRequests) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose requests wait for the given rate limiter.
+     * A limiter can be shared by several clients to enforce a common budget.
+     *
+     * @param rateLimiter The rate limiter, or null to send requests without limits.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withRateLimiter(RateLimiter rateLimiter) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose failed requests are retried with the given policy.
+     * Requests that upload an InputStream cannot be replayed and are never retried.
+     *
+     * @param retryPolicy The retry policy, or null to fail on the first error.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withRetryPolicy(RetryPolicy retryPolicy) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose requests wait for a slot of the given concurrency limiter.
+     *
+     * @param concurrencyLimiter The concurrency limiter, or null for no bound on concurrent requests.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose chat completion requests are hedged with the given policy.
+     * A request that is slower than usual is sent a second time and the first response is used.
+     *
+     * @param hedgingPolicy The hedging policy, or null to send every request once.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose requests pass the given circuit breaker. While the API
+     * keeps failing for an endpoint and model, its requests fail immediately instead of waiting
+     * for connections and timeouts.
+     *
+     * @param circuitBreaker The circuit breaker, or null to always send requests.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withCircuitBreaker(CircuitBreaker circuitBreaker) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose requests are spread over the targets of the given load
+     * balancer, each sent with the API key and to the base URL of its target. The apiKey and
+     * baseUrl of the config are then only used if the load balancer is removed again.
+     *
+     * @param loadBalancer The load balancer, or null to send every request with apiKey to baseUrl.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withLoadBalancer(LoadBalancer loadBalancer) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose requests are recorded into the given metrics registry.
+     * A registry can be shared by several clients.
+     *
+     * @param metricsRegistry The metrics registry, or null to record nothing.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withMetricsRegistry(MetricsRegistry metricsRegistry) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
+    }
+    
+    /**
+     * Returns a copy of this config whose model catalog recognizes vision models by the given
+     * markers. The models endpoint does not report which models accept images, so a listed model
+     * is taken to accept them if its ID contains one of the markers.
+     *
+     * @param visionModelMarkers The markers, or null for {@link #DEFAULT_VISION_MODEL_MARKERS}.
+     * @return A new GroqApiConfig instance.
+     */
+    public GroqApiConfig withVisionModelMarkers(Set<String> visionModelMarkers) {
+        return new GroqApiConfig(
+            apiKey, baseUrl, maxBase64SizeMB, executor, coalesceRequests, rateLimiter, retryPolicy, concurrencyLimiter,
+            hedgingPolicy, circuitBreaker, loadBalancer, metricsRegistry, visionModelMarkers);
     }
     
     /**
@@ -44,4 +263,4 @@ public record GroqApiConfig(
     public String getFullUrl(String endpoint) {
         return baseUrl + endpoint;
     }
-}
\ No newline at end of file
+}
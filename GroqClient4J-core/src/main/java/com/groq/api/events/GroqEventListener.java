@@ -0,0 +1,127 @@
+package com.groq.api.events;
+
+/**
+ * Receives the phases of the calls a client makes, for example to feed a tracer.
+ * <p>
+ * A listener is registered with {@link com.groq.api.client.GroqClientFactory#createClient(
+ * com.groq.api.config.GroqApiConfig, GroqEventListener)}. Every call gets a correlation id that is
+ * unique within the JVM and is passed to all of its callbacks; the chat completions of a tool
+ * conversation name the conversation as their parent. Times are {@link System#nanoTime()} values.
+ * <p>
+ * The callbacks take only primitives, enums and strings the client already holds, so they do not
+ * allocate. They run on the thread that finished the phase, often an HTTP client thread, and must
+ * return quickly; exceptions they throw are ignored. A client without a listener does not measure
+ * anything.
+ */
+public interface GroqEventListener {
+    /**
+     * A listener that ignores every event.
+     */
+    GroqEventListener NOOP = new GroqEventListener() {
+    };
+
+    /**
+     * The kind of call.
+     */
+    enum CallType {
+        /**
+         * A chat completion.
+         */
+        CHAT,
+        /**
+         * A streamed chat completion.
+         */
+        STREAM,
+        /**
+         * A chat completion with images.
+         */
+        VISION,
+        /**
+         * A transcription or translation.
+         */
+        AUDIO,
+        /**
+         * A conversation with tools over one or more chat completions.
+         */
+        TOOL_LOOP,
+        /**
+         * Listing the models.
+         */
+        MODELS
+    }
+
+    /**
+     * A phase of a call. Retried and hedged requests report the phases of every attempt.
+     */
+    enum Phase {
+        /**
+         * Writing the request body.
+         */
+        SERIALIZE,
+        /**
+         * Waiting for the circuit breaker, the rate limiter and the concurrency limiter.
+         */
+        QUEUE,
+        /**
+         * From sending the request until the status line and headers arrived, including
+         * connection setup, which the HTTP client does not report on its own.
+         */
+        HEADERS,
+        /**
+         * From the headers until the first byte of the body, or the first event of a stream,
+         * was read.
+         */
+        FIRST_BYTE,
+        /**
+         * Reading and parsing the response body, which happen together; for streams, from the
+         * headers until the end of the stream.
+         */
+        PARSE
+    }
+
+    /**
+     * Called when a call starts.
+     *
+     * @param callId The correlation id of the call.
+     * @param parentId The correlation id of the call this one is part of, or 0.
+     * @param type The kind of call.
+     * @param model The model of the call, or null.
+     * @param nanos The start time.
+     */
+    default void onCallStart(long callId, long parentId, CallType type, String model, long nanos) {
+    }
+
+    /**
+     * Called when a phase of a call is over.
+     *
+     * @param callId The correlation id of the call.
+     * @param phase The phase.
+     * @param startNanos The start time of the phase.
+     * @param endNanos The end time of the phase.
+     */
+    default void onPhase(long callId, Phase phase, long startNanos, long endNanos) {
+    }
+
+    /**
+     * Called when a tool of a tool conversation has run.
+     *
+     * @param callId The correlation id of the conversation.
+     * @param toolName The name of the tool.
+     * @param startNanos The time the tool was started.
+     * @param endNanos The time the tool returned its result.
+     * @param failure The failure of the tool, or null if it succeeded.
+     */
+    default void onToolCall(long callId, String toolName, long startNanos, long endNanos, Throwable failure) {
+    }
+
+    /**
+     * Called when a call is over. For streams, that is when the subscriber received the last
+     * chunk or the failure, or cancelled.
+     *
+     * @param callId The correlation id of the call.
+     * @param failure The failure of the call, or null if it succeeded.
+     * @param nanos The end time.
+     */
+    default void onCallEnd(long callId, Throwable failure, long nanos) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.groq.api.exceptions;
 
+import java.time.Duration;
+
 /**
  * Exception thrown when an error occurs during API operations.
  */
@@ -8,6 +10,7 @@ public class GroqApiException extends Exception {
 	private final int statusCode;
     private final String errorType;
     private final String errorCode;
+    private final Duration retryAfter;
 
     /**
      * Creates a new exception with status code and message.
@@ -30,6 +33,21 @@ public class GroqApiException extends Exception {
         this(statusCode, message, null, null, cause);
     }
 
+    /**
+     * Creates a new exception for a response that asked the client to wait before retrying.
+     *
+     * @param statusCode The HTTP status code.
+     * @param message A descriptive error message.
+     * @param retryAfter The delay requested by the Retry-After header, or null.
+     */
+    public GroqApiException(int statusCode, String message, Duration retryAfter) {
+        super(message);
+        this.statusCode = statusCode;
+        this.errorType = null;
+        this.errorCode = null;
+        this.retryAfter = retryAfter;
+    }
+
     /**
      * Creates a new exception with all details.
      *
@@ -49,6 +67,7 @@ public class GroqApiException extends Exception {
         this.statusCode = statusCode;
         this.errorType = errorType;
         this.errorCode = errorCode;
+        this.retryAfter = null;
     }
 
     /**
@@ -77,4 +96,13 @@ public class GroqApiException extends Exception {
     public String getErrorCode() {
         return errorCode;
     }
+
+    /**
+     * Gets the delay the API asked for before retrying, if available.
+     *
+     * @return The Retry-After delay or null.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
 }
\ No newline at end of file
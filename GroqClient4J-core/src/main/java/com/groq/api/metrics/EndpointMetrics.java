@@ -0,0 +1,154 @@
+package com.groq.api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the requests to one endpoint and model. Times are recorded in nanoseconds and
+ * sizes in bytes.
+ */
+public final class EndpointMetrics {
+    private final String endpoint;
+    private final String model;
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Histogram queueWait = new Histogram();
+    private final Histogram timeToHeaders = new Histogram();
+    private final Histogram latency = new Histogram();
+    private final Histogram timeToFirstToken = new Histogram();
+    private final Histogram interTokenGap = new Histogram();
+    private final Histogram tokensPerSecond = new Histogram();
+    private final Histogram requestBytes = new Histogram();
+    private final Histogram responseBytes = new Histogram();
+
+    EndpointMetrics(String endpoint, String model) {
+        this.endpoint = endpoint;
+        this.model = model;
+    }
+
+    /**
+     * Returns the endpoint of these metrics.
+     *
+     * @return The endpoint, such as {@code /chat/completions}.
+     */
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the model of these metrics.
+     *
+     * @return The model, or an empty string for requests without a model.
+     */
+    public String model() {
+        return model;
+    }
+
+    /**
+     * Records the time a request waited for the rate and concurrency limits before it was sent.
+     *
+     * @param nanos The waiting time.
+     */
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    /**
+     * Records a response and the time from sending the request until its status line and
+     * headers arrived. Responses with a status of 400 or higher also count as errors.
+     *
+     * @param statusCode The HTTP status of the response.
+     * @param nanos The time to headers.
+     */
+    public void recordResponse(int statusCode, long nanos) {
+        responses.increment();
+        if (statusCode >= 400) {
+            errors.increment();
+        }
+        timeToHeaders.record(nanos);
+    }
+
+    /**
+     * Records a request that got no response, or was rejected before it was sent.
+     */
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Records the time from sending a successful request until its response was read completely.
+     *
+     * @param nanos The latency.
+     */
+    public void recordLatency(long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Records the time from sending a streamed request until its first content arrived.
+     *
+     * @param nanos The time to first token.
+     */
+    public void recordTimeToFirstToken(long nanos) {
+        timeToFirstToken.record(nanos);
+    }
+
+    /**
+     * Records the time between two consecutive content chunks of a stream.
+     *
+     * @param nanos The gap.
+     */
+    public void recordInterTokenGap(long nanos) {
+        interTokenGap.record(nanos);
+    }
+
+    /**
+     * Records the rate at which a completion was generated.
+     *
+     * @param tokensPerSecond The completion tokens per second, rounded to a whole number.
+     */
+    public void recordTokensPerSecond(long tokensPerSecond) {
+        this.tokensPerSecond.record(tokensPerSecond);
+    }
+
+    /**
+     * Records the size of a request body.
+     *
+     * @param bytes The size.
+     */
+    public void recordRequestBytes(long bytes) {
+        requestBytes.record(bytes);
+    }
+
+    /**
+     * Records the size of a response body.
+     *
+     * @param bytes The size.
+     */
+    public void recordResponseBytes(long bytes) {
+        responseBytes.record(bytes);
+    }
+
+    /**
+     * Returns a snapshot of these metrics.
+     *
+     * @return The counters and histograms at this point in time.
+     */
+    public EndpointMetricsSnapshot snapshot() {
+        return new EndpointMetricsSnapshot(
+            endpoint,
+            model,
+            responses.sum(),
+            errors.sum(),
+            failures.sum(),
+            queueWait.snapshot(),
+            timeToHeaders.snapshot(),
+            latency.snapshot(),
+            timeToFirstToken.snapshot(),
+            interTokenGap.snapshot(),
+            tokensPerSecond.snapshot(),
+            requestBytes.snapshot(),
+            responseBytes.snapshot()
+        );
+    }
+}
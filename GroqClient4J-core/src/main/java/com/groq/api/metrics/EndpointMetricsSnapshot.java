@@ -0,0 +1,36 @@
+package com.groq.api.metrics;
+
+/**
+ * The metrics of one endpoint and model at one point in time. Times are in nanoseconds and
+ * sizes in bytes.
+ *
+ * @param endpoint The endpoint, such as {@code /chat/completions}.
+ * @param model The model, or an empty string for requests without a model.
+ * @param responses The number of responses received.
+ * @param errors The number of responses with a status of 400 or higher.
+ * @param failures The number of requests that got no response or were rejected before sending.
+ * @param queueWait The time requests waited for the rate and concurrency limits.
+ * @param timeToHeaders The time from sending a request until the response headers arrived.
+ * @param latency The time from sending a successful request until its response was read.
+ * @param timeToFirstToken The time from sending a streamed request until its first content.
+ * @param interTokenGap The time between consecutive content chunks of streams.
+ * @param tokensPerSecond The rate at which completions were generated.
+ * @param requestBytes The size of request bodies.
+ * @param responseBytes The size of response bodies.
+ */
+public record EndpointMetricsSnapshot(
+    String endpoint,
+    String model,
+    long responses,
+    long errors,
+    long failures,
+    HistogramSnapshot queueWait,
+    HistogramSnapshot timeToHeaders,
+    HistogramSnapshot latency,
+    HistogramSnapshot timeToFirstToken,
+    HistogramSnapshot interTokenGap,
+    HistogramSnapshot tokensPerSecond,
+    HistogramSnapshot requestBytes,
+    HistogramSnapshot responseBytes
+) {
+}
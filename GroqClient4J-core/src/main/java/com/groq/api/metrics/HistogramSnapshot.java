@@ -0,0 +1,29 @@
+package com.groq.api.metrics;
+
+/**
+ * The state of a {@link Histogram} at one point in time.
+ *
+ * @param count The number of recorded values.
+ * @param sum The sum of the recorded values.
+ * @param max The largest recorded value.
+ * @param p50 The median.
+ * @param p90 The 90th percentile.
+ * @param p99 The 99th percentile.
+ */
+public record HistogramSnapshot(
+    long count,
+    long sum,
+    long max,
+    long p50,
+    long p90,
+    long p99
+) {
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return The mean, or 0 if no value was recorded.
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
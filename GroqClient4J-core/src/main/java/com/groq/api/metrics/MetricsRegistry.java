@@ -0,0 +1,295 @@
+package com.groq.api.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Client-side performance metrics, broken down by endpoint and model.
+ * <p>
+ * A registry is attached to a client with
+ * {@link com.groq.api.config.GroqApiConfig#withMetricsRegistry(MetricsRegistry)} and may be
+ * shared by several clients. Recording is lock-free and does not allocate once the metrics of an
+ * endpoint and model exist; a client without a registry records nothing.
+ * <p>
+ * Besides the client-side measurements, the registry sums up the {@code usage} blocks of chat
+ * completions per model and tenant, the tenant being the {@code user} field of the request, for
+ * capacity planning and cost attribution. Every distinct tenant gets its own counters, so the
+ * field should identify accounts rather than individual requests.
+ * <p>
+ * {@link #snapshot()} returns the current values, and {@link #writeText(Appendable)} writes them
+ * in the Prometheus text exposition format, with times in seconds, so an HTTP handler can serve
+ * them to a scraper.
+ */
+public final class MetricsRegistry {
+    private static final String PREFIX = "groq_client_";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final Map<Key, EndpointMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<UsageKey, UsageCounters> usage = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Creates an empty registry.
+     *
+     * @return A new MetricsRegistry instance.
+     */
+    public static MetricsRegistry create() {
+        return new MetricsRegistry();
+    }
+
+    /**
+     * Returns the metrics of an endpoint and model, creating them on first use.
+     *
+     * @param endpoint The endpoint, such as {@code /chat/completions}.
+     * @param model The model, or null for requests without a model.
+     * @return The metrics to record into.
+     */
+    public EndpointMetrics metrics(String endpoint, String model) {
+        Key key = new Key(Objects.requireNonNull(endpoint, "endpoint"), model == null ? "" : model);
+        EndpointMetrics existing = metrics.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return metrics.computeIfAbsent(key, created -> new EndpointMetrics(created.endpoint(), created.model()));
+    }
+
+    /**
+     * Returns the usage counters of a model and tenant, creating them on first use.
+     *
+     * @param model The model, or null if the request named none.
+     * @param tenant The {@code user} of the request, or null for requests without one.
+     * @return The counters to record into.
+     */
+    public UsageCounters usage(String model, String tenant) {
+        UsageKey key = new UsageKey(model == null ? "" : model, tenant == null ? "" : tenant);
+        UsageCounters existing = usage.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return usage.computeIfAbsent(key, created -> new UsageCounters(created.model(), created.tenant()));
+    }
+
+    /**
+     * Returns the current metrics of every endpoint and model that received a request.
+     *
+     * @return The snapshots, ordered by endpoint and model.
+     */
+    public List<EndpointMetricsSnapshot> snapshot() {
+        List<EndpointMetricsSnapshot> snapshots = new ArrayList<>();
+        for (EndpointMetrics endpointMetrics : metrics.values()) {
+            snapshots.add(endpointMetrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(EndpointMetricsSnapshot::endpoint)
+            .thenComparing(EndpointMetricsSnapshot::model));
+        return snapshots;
+    }
+
+    /**
+     * Returns the current usage of every model and tenant that reported one.
+     *
+     * @return The snapshots, ordered by model and tenant.
+     */
+    public List<UsageSnapshot> usageSnapshot() {
+        List<UsageSnapshot> snapshots = new ArrayList<>();
+        for (UsageCounters counters : usage.values()) {
+            snapshots.add(counters.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(UsageSnapshot::model).thenComparing(UsageSnapshot::tenant));
+        return snapshots;
+    }
+
+    /**
+     * Writes the current metrics in the Prometheus text exposition format. Histograms are
+     * written as summaries with the 0.5, 0.9 and 0.99 quantiles.
+     *
+     * @param out The destination.
+     * @throws IOException If writing fails.
+     */
+    public void writeText(Appendable out) throws IOException {
+        List<EndpointMetricsSnapshot> snapshots = snapshot();
+        writeCounter(out, snapshots, "responses_total",
+            "Responses received.",
+            EndpointMetricsSnapshot::responses);
+        writeCounter(out, snapshots, "errors_total",
+            "Responses with a status of 400 or higher.",
+            EndpointMetricsSnapshot::errors);
+        writeCounter(out, snapshots, "failures_total",
+            "Requests that got no response or were rejected before sending.",
+            EndpointMetricsSnapshot::failures);
+        writeSummary(out, snapshots, "queue_wait_seconds",
+            "Time requests waited for the rate and concurrency limits.",
+            EndpointMetricsSnapshot::queueWait, NANOS_PER_SECOND);
+        writeSummary(out, snapshots, "time_to_headers_seconds",
+            "Time from sending a request until the response headers arrived.",
+            EndpointMetricsSnapshot::timeToHeaders, NANOS_PER_SECOND);
+        writeSummary(out, snapshots, "latency_seconds",
+            "Time from sending a successful request until its response was read.",
+            EndpointMetricsSnapshot::latency, NANOS_PER_SECOND);
+        writeSummary(out, snapshots, "time_to_first_token_seconds",
+            "Time from sending a streamed request until its first content.",
+            EndpointMetricsSnapshot::timeToFirstToken, NANOS_PER_SECOND);
+        writeSummary(out, snapshots, "inter_token_gap_seconds",
+            "Time between consecutive content chunks of streams.",
+            EndpointMetricsSnapshot::interTokenGap, NANOS_PER_SECOND);
+        writeSummary(out, snapshots, "tokens_per_second",
+            "Rate at which completions were generated.",
+            EndpointMetricsSnapshot::tokensPerSecond, 1);
+        writeSummary(out, snapshots, "request_bytes",
+            "Size of request bodies.",
+            EndpointMetricsSnapshot::requestBytes, 1);
+        writeSummary(out, snapshots, "response_bytes",
+            "Size of response bodies.",
+            EndpointMetricsSnapshot::responseBytes, 1);
+        List<UsageSnapshot> usages = usageSnapshot();
+        writeUsage(out, usages, "completions_total",
+            "Completions whose usage was reported.",
+            UsageSnapshot::completions, 1);
+        writeUsage(out, usages, "prompt_tokens_total",
+            "Tokens of the prompts.",
+            UsageSnapshot::promptTokens, 1);
+        writeUsage(out, usages, "completion_tokens_total",
+            "Tokens generated.",
+            UsageSnapshot::completionTokens, 1);
+        writeUsage(out, usages, "server_queue_seconds_total",
+            "Time requests were queued on the server.",
+            UsageSnapshot::queueNanos, NANOS_PER_SECOND);
+        writeUsage(out, usages, "prompt_seconds_total",
+            "Time the server spent processing prompts.",
+            UsageSnapshot::promptNanos, NANOS_PER_SECOND);
+        writeUsage(out, usages, "completion_seconds_total",
+            "Time the server spent generating completions.",
+            UsageSnapshot::completionNanos, NANOS_PER_SECOND);
+    }
+
+    /**
+     * Returns the current metrics in the Prometheus text exposition format.
+     *
+     * @return The exposition text.
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        try {
+            writeText(text);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+
+    private static void writeCounter(
+            Appendable out,
+            List<EndpointMetricsSnapshot> snapshots,
+            String name,
+            String help,
+            ToLongFunction<EndpointMetricsSnapshot> value) throws IOException {
+        writeHeader(out, name, help, "counter");
+        for (EndpointMetricsSnapshot snapshot : snapshots) {
+            out.append(PREFIX).append(name);
+            writeLabels(out, snapshot, null);
+            out.append(' ').append(Long.toString(value.applyAsLong(snapshot))).append('\n');
+        }
+    }
+
+    private static void writeSummary(
+            Appendable out,
+            List<EndpointMetricsSnapshot> snapshots,
+            String name,
+            String help,
+            Function<EndpointMetricsSnapshot, HistogramSnapshot> histogram,
+            double unit) throws IOException {
+        writeHeader(out, name, help, "summary");
+        for (EndpointMetricsSnapshot snapshot : snapshots) {
+            HistogramSnapshot values = histogram.apply(snapshot);
+            if (values.count() == 0) {
+                continue;
+            }
+            writeSample(out, name, snapshot, "0.5", values.p50() / unit);
+            writeSample(out, name, snapshot, "0.9", values.p90() / unit);
+            writeSample(out, name, snapshot, "0.99", values.p99() / unit);
+            writeSample(out, name + "_sum", snapshot, null, values.sum() / unit);
+            writeSample(out, name + "_count", snapshot, null, values.count());
+        }
+    }
+
+    private static void writeUsage(
+            Appendable out,
+            List<UsageSnapshot> snapshots,
+            String name,
+            String help,
+            ToLongFunction<UsageSnapshot> value,
+            double unit) throws IOException {
+        writeHeader(out, name, help, "counter");
+        for (UsageSnapshot snapshot : snapshots) {
+            out.append(PREFIX).append(name).append("{model=\"");
+            escape(out, snapshot.model());
+            out.append("\",tenant=\"");
+            escape(out, snapshot.tenant());
+            out.append("\"} ");
+            out.append(format(value.applyAsLong(snapshot) / unit)).append('\n');
+        }
+    }
+
+    private static void writeHeader(Appendable out, String name, String help, String type) throws IOException {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeSample(
+            Appendable out,
+            String name,
+            EndpointMetricsSnapshot snapshot,
+            String quantile,
+            double value) throws IOException {
+        out.append(PREFIX).append(name);
+        writeLabels(out, snapshot, quantile);
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static void writeLabels(
+            Appendable out,
+            EndpointMetricsSnapshot snapshot,
+            String quantile) throws IOException {
+        out.append("{endpoint=\"");
+        escape(out, snapshot.endpoint());
+        out.append("\",model=\"");
+        escape(out, snapshot.model());
+        out.append('"');
+        if (quantile != null) {
+            out.append(",quantile=\"").append(quantile).append('"');
+        }
+        out.append('}');
+    }
+
+    private static void escape(Appendable out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private record Key(String endpoint, String model) {
+    }
+
+    private record UsageKey(String model, String tenant) {
+    }
+}
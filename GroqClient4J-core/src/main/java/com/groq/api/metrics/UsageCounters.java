@@ -0,0 +1,85 @@
+package com.groq.api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The tokens and server-side time consumed by the completions of one model and tenant, as
+ * reported in the {@code usage} blocks of the responses. Times are recorded in nanoseconds.
+ */
+public final class UsageCounters {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final String model;
+    private final String tenant;
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder completionTokens = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder promptNanos = new LongAdder();
+    private final LongAdder completionNanos = new LongAdder();
+
+    UsageCounters(String model, String tenant) {
+        this.model = model;
+        this.tenant = tenant;
+    }
+
+    /**
+     * Returns the model of these counters.
+     *
+     * @return The model, or an empty string if the requests named none.
+     */
+    public String model() {
+        return model;
+    }
+
+    /**
+     * Returns the tenant of these counters.
+     *
+     * @return The {@code user} of the requests, or an empty string for requests without one.
+     */
+    public String tenant() {
+        return tenant;
+    }
+
+    /**
+     * Records the usage block of one completion. The times are given in seconds, as the API
+     * reports them.
+     *
+     * @param promptTokens The tokens of the prompt.
+     * @param completionTokens The tokens generated.
+     * @param queueTime The time the request was queued on the server.
+     * @param promptTime The time spent processing the prompt.
+     * @param completionTime The time spent generating the completion.
+     */
+    public void record(
+            long promptTokens,
+            long completionTokens,
+            double queueTime,
+            double promptTime,
+            double completionTime) {
+        completions.increment();
+        this.promptTokens.add(promptTokens);
+        this.completionTokens.add(completionTokens);
+        queueNanos.add(Math.round(queueTime * NANOS_PER_SECOND));
+        promptNanos.add(Math.round(promptTime * NANOS_PER_SECOND));
+        completionNanos.add(Math.round(completionTime * NANOS_PER_SECOND));
+    }
+
+    /**
+     * Returns the current values of these counters.
+     *
+     * @return The snapshot.
+     */
+    public UsageSnapshot snapshot() {
+        return new UsageSnapshot(
+            model,
+            tenant,
+            completions.sum(),
+            promptTokens.sum(),
+            completionTokens.sum(),
+            queueNanos.sum(),
+            promptNanos.sum(),
+            completionNanos.sum()
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.groq.api.metrics;
+
+/**
+ * The usage of one model and tenant at one point in time. Times are in nanoseconds.
+ *
+ * @param model The model, or an empty string if the requests named none.
+ * @param tenant The {@code user} of the requests, or an empty string for requests without one.
+ * @param completions The number of completions whose usage was reported.
+ * @param promptTokens The tokens of the prompts.
+ * @param completionTokens The tokens generated.
+ * @param queueNanos The time requests were queued on the server.
+ * @param promptNanos The time spent processing prompts.
+ * @param completionNanos The time spent generating completions.
+ */
+public record UsageSnapshot(
+    String model,
+    String tenant,
+    long completions,
+    long promptTokens,
+    long completionTokens,
+    long queueNanos,
+    long promptNanos,
+    long completionNanos
+) {
+    /**
+     * Returns the tokens of the prompts and completions together.
+     *
+     * @return The total tokens.
+     */
+    public long totalTokens() {
+        return promptTokens + completionTokens;
+    }
+
+    /**
+     * Returns the rate at which the server generated tokens.
+     *
+     * @return The completion tokens per second of completion time, or 0 if no time was reported.
+     */
+    public double tokensPerSecond() {
+        return completionNanos == 0 ? 0 : completionTokens * 1e9 / completionNanos;
+    }
+}
@@ -0,0 +1,49 @@
+package com.groq.api.models;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents a chat completion response.
+ * Its lists are unmodifiable, so one instance can be shared by several callers.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletion(
+    String id,
+    String object,
+    Long created,
+    String model,
+    List<Choice> choices,
+    Usage usage,
+    @JsonProperty("system_fingerprint") String systemFingerprint,
+    @JsonProperty("x_groq") GroqMetadata xGroq
+) {
+    public ChatCompletion {
+        choices = choices == null ? null : List.copyOf(choices);
+    }
+
+    /**
+     * Represents one generated alternative of a completion.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(
+        Integer index,
+        Message message,
+        @JsonProperty("finish_reason") String finishReason
+    ) {
+    }
+
+    /**
+     * Returns the text content of the first choice.
+     *
+     * @return The content, or null if not found.
+     */
+    public String content() {
+        if (choices == null || choices.isEmpty() || choices.get(0).message() == null) {
+            return null;
+        }
+        return choices.get(0).message().text();
+    }
+}
@@ -0,0 +1,62 @@
+package com.groq.api.models;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents one chunk of a streaming chat completion.
+ * Its lists are unmodifiable, so one instance can be shared by several subscribers.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletionChunk(
+    String id,
+    String object,
+    Long created,
+    String model,
+    List<Choice> choices,
+    @JsonProperty("system_fingerprint") String systemFingerprint,
+    @JsonProperty("x_groq") GroqMetadata xGroq
+) {
+    public ChatCompletionChunk {
+        choices = choices == null ? null : List.copyOf(choices);
+    }
+
+    /**
+     * Represents the change to one generated alternative carried by a chunk.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(
+        Integer index,
+        Delta delta,
+        @JsonProperty("finish_reason") String finishReason
+    ) {
+    }
+
+    /**
+     * Represents the incremental message fields of a chunk.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Delta(
+        String role,
+        String content,
+        @JsonProperty("tool_calls") List<ToolCall> toolCalls
+    ) {
+        public Delta {
+            toolCalls = toolCalls == null ? null : List.copyOf(toolCalls);
+        }
+    }
+
+    /**
+     * Returns the text content carried by the first choice of this chunk.
+     *
+     * @return The content fragment, or null if not found.
+     */
+    public String content() {
+        if (choices == null || choices.isEmpty() || choices.get(0).delta() == null) {
+            return null;
+        }
+        return choices.get(0).delta().content();
+    }
+}
@@ -0,0 +1,145 @@
+package com.groq.api.models;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents a chat completion request.
+ * Optional parameters left null are omitted from the serialized request.
+ * Its lists are unmodifiable, so a request can be reused and shared.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatCompletionRequest(
+    String model,
+    List<Message> messages,
+    Float temperature,
+    @JsonProperty("max_tokens") Integer maxTokens,
+    @JsonProperty("top_p") Float topP,
+    List<String> stop,
+    Integer seed,
+    String user,
+    List<Tool> tools,
+    @JsonProperty("tool_choice") Object toolChoice,
+    @JsonProperty("response_format") Object responseFormat,
+    Boolean stream
+) {
+    public ChatCompletionRequest {
+        messages = messages == null ? null : List.copyOf(messages);
+        stop = stop == null ? null : List.copyOf(stop);
+        tools = tools == null ? null : List.copyOf(tools);
+    }
+
+    /**
+     * Creates a request with the given model and messages and no optional parameters.
+     *
+     * @param model The model to use.
+     * @param messages The conversation messages.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public static ChatCompletionRequest of(String model, List<Message> messages) {
+        return new ChatCompletionRequest(model, messages, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a new request with the specified messages.
+     *
+     * @param messages The conversation messages.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withMessages(List<Message> messages) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified temperature.
+     *
+     * @param temperature The temperature parameter for generation.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withTemperature(Float temperature) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified maximum number of generated tokens.
+     *
+     * @param maxTokens The maximum number of tokens to generate.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withMaxTokens(Integer maxTokens) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified nucleus sampling parameter.
+     *
+     * @param topP The top_p parameter for generation.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withTopP(Float topP) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified stop sequences.
+     *
+     * @param stop The sequences at which generation stops.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withStop(List<String> stop) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified sampling seed.
+     *
+     * @param seed The seed for deterministic sampling.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withSeed(Integer seed) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified end-user identifier.
+     *
+     * @param user The identifier of the end user.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withUser(String user) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified tools and tool choice.
+     *
+     * @param tools The list of tools to make available.
+     * @param toolChoice The tool choice, such as "auto", "none" or a specific function.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withTools(List<Tool> tools, Object toolChoice) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified response format.
+     *
+     * @param responseFormat The response format, such as {@code {"type": "json_object"}}.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withResponseFormat(Object responseFormat) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+
+    /**
+     * Creates a new request with the specified stream flag.
+     *
+     * @param stream Whether the completion is streamed.
+     * @return A new ChatCompletionRequest instance.
+     */
+    public ChatCompletionRequest withStream(Boolean stream) {
+        return new ChatCompletionRequest(model, messages, temperature, maxTokens, topP, stop, seed, user, tools, toolChoice, responseFormat, stream);
+    }
+}
@@ -0,0 +1,43 @@
+package com.groq.api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents one part of a multi-part message content, such as text or an image.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ContentPart(
+    String type,
+    String text,
+    @JsonProperty("image_url") ImageUrl imageUrl
+) {
+    /**
+     * Represents the location of an image, either a URL or a Base64 data URL.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ImageUrl(String url) {
+    }
+
+    /**
+     * Creates a text part.
+     *
+     * @param text The text.
+     * @return A new ContentPart instance.
+     */
+    public static ContentPart text(String text) {
+        return new ContentPart("text", text, null);
+    }
+
+    /**
+     * Creates an image part.
+     *
+     * @param url The URL of the image, or a Base64 data URL.
+     * @return A new ContentPart instance.
+     */
+    public static ContentPart imageUrl(String url) {
+        return new ContentPart("image_url", null, new ImageUrl(url));
+    }
+}
@@ -0,0 +1,82 @@
+package com.groq.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Represents one event of a streamed conversation with tools: a fragment of generated content,
+ * or a step of a tool turn. Turns are numbered from 1.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ConversationEvent(
+    Type type,
+    int turn,
+    String content,
+    ToolCall toolCall,
+    String toolResult
+) {
+    /**
+     * The kind of event.
+     */
+    public enum Type {
+        /**
+         * A fragment of content generated by the model.
+         */
+        CONTENT,
+        /**
+         * A tool call whose arguments are complete was started.
+         */
+        TOOL_CALL_STARTED,
+        /**
+         * A tool call returned its result, or an error message if it failed.
+         */
+        TOOL_CALL_COMPLETED,
+        /**
+         * Every tool of the turn returned; the results are sent to the model in the next turn.
+         */
+        TOOL_TURN_COMPLETED
+    }
+
+    /**
+     * Creates a content event.
+     *
+     * @param turn The turn the content belongs to.
+     * @param content The content fragment.
+     * @return A new ConversationEvent instance.
+     */
+    public static ConversationEvent content(int turn, String content) {
+        return new ConversationEvent(Type.CONTENT, turn, content, null, null);
+    }
+
+    /**
+     * Creates the event of a started tool call.
+     *
+     * @param turn The turn the call belongs to.
+     * @param toolCall The tool call.
+     * @return A new ConversationEvent instance.
+     */
+    public static ConversationEvent toolCallStarted(int turn, ToolCall toolCall) {
+        return new ConversationEvent(Type.TOOL_CALL_STARTED, turn, null, toolCall, null);
+    }
+
+    /**
+     * Creates the event of a completed tool call.
+     *
+     * @param turn The turn the call belongs to.
+     * @param toolCall The tool call.
+     * @param toolResult The result sent back to the model.
+     * @return A new ConversationEvent instance.
+     */
+    public static ConversationEvent toolCallCompleted(int turn, ToolCall toolCall, String toolResult) {
+        return new ConversationEvent(Type.TOOL_CALL_COMPLETED, turn, null, toolCall, toolResult);
+    }
+
+    /**
+     * Creates the event of a completed tool turn.
+     *
+     * @param turn The turn.
+     * @return A new ConversationEvent instance.
+     */
+    public static ConversationEvent toolTurnCompleted(int turn) {
+        return new ConversationEvent(Type.TOOL_TURN_COMPLETED, turn, null, null, null);
+    }
+}
@@ -2,16 +2,18 @@ package com.groq.api.models;
 
 import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
  * Represents a function that can be used by the Groq API.
+ * The executor is local to the client and is not part of the serialized request.
  */
 public record Function(
     String name,
     String description,
     JsonNode parameters,
-    FunctionExecutor executor
+    @JsonIgnore FunctionExecutor executor
 ) {
     /**
      * Functional interface for executing functions.
@@ -0,0 +1,14 @@
+package com.groq.api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Represents the Groq specific {@code x_groq} block of a response.
+ * On streams, the usage of the whole completion is reported here on the final chunk.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GroqMetadata(
+    String id,
+    Usage usage
+) {
+}
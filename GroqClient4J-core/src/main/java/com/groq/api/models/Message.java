@@ -0,0 +1,92 @@
+package com.groq.api.models;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents a message in a chat conversation.
+ * The content is either a String or a list of {@link ContentPart}s.
+ * Its lists are unmodifiable, so one instance can be shared by several callers.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Message(
+    String role,
+    Object content,
+    String name,
+    @JsonProperty("tool_call_id") String toolCallId,
+    @JsonProperty("tool_calls") List<ToolCall> toolCalls
+) {
+    public Message {
+        if (content instanceof List<?> parts) {
+            content = List.copyOf(parts);
+        }
+        toolCalls = toolCalls == null ? null : List.copyOf(toolCalls);
+    }
+
+    /**
+     * Creates a system message.
+     *
+     * @param content The message text.
+     * @return A new Message instance.
+     */
+    public static Message system(String content) {
+        return new Message("system", content, null, null, null);
+    }
+
+    /**
+     * Creates a user message.
+     *
+     * @param content The message text.
+     * @return A new Message instance.
+     */
+    public static Message user(String content) {
+        return new Message("user", content, null, null, null);
+    }
+
+    /**
+     * Creates a user message made of several parts, such as text and images.
+     *
+     * @param parts The content parts.
+     * @return A new Message instance.
+     */
+    public static Message user(List<ContentPart> parts) {
+        return new Message("user", parts, null, null, null);
+    }
+
+    /**
+     * Creates an assistant message.
+     *
+     * @param content The message text.
+     * @return A new Message instance.
+     */
+    public static Message assistant(String content) {
+        return new Message("assistant", content, null, null, null);
+    }
+
+    /**
+     * Creates a message carrying the result of a tool call.
+     *
+     * @param toolCallId The ID of the tool call.
+     * @param functionName The name of the function that was called.
+     * @param content The result of the function.
+     * @return A new Message instance.
+     */
+    public static Message tool(String toolCallId, String functionName, String content) {
+        return new Message("tool", content, functionName, toolCallId, null);
+    }
+
+    /**
+     * Returns the content if it is plain text.
+     *
+     * @return The text content, or null if the content is absent or made of parts.
+     */
+    @JsonIgnore
+    public String text() {
+        return content instanceof String ? (String) content : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.groq.api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents a model as listed by the models endpoint.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ModelInfo(
+    String id,
+    Long created,
+    @JsonProperty("owned_by") String ownedBy,
+    Boolean active,
+    @JsonProperty("context_window") Integer contextWindow,
+    @JsonProperty("max_completion_tokens") Integer maxCompletionTokens
+) {
+    /**
+     * Returns whether the model can currently be used. Models without an explicit flag are
+     * considered active.
+     *
+     * @return false only if the API marked the model as inactive.
+     */
+    public boolean isActive() {
+        return active == null || active;
+    }
+}
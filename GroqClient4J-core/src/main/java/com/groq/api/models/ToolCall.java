@@ -0,0 +1,28 @@
+package com.groq.api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Represents a tool call requested by the model.
+ * In streamed chunks, {@code index} identifies the call that a fragment belongs to.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ToolCall(
+    Integer index,
+    String id,
+    String type,
+    FunctionCall function
+) {
+    /**
+     * Represents the function name and JSON arguments of a tool call.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record FunctionCall(
+        String name,
+        String arguments
+    ) {
+    }
+}
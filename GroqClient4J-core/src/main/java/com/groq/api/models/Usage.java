@@ -0,0 +1,19 @@
+package com.groq.api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents the token usage and timing reported for a completion.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Usage(
+    @JsonProperty("prompt_tokens") Integer promptTokens,
+    @JsonProperty("completion_tokens") Integer completionTokens,
+    @JsonProperty("total_tokens") Integer totalTokens,
+    @JsonProperty("queue_time") Double queueTime,
+    @JsonProperty("prompt_time") Double promptTime,
+    @JsonProperty("completion_time") Double completionTime,
+    @JsonProperty("total_time") Double totalTime
+) {
+}
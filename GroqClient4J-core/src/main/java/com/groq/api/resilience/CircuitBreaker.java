@@ -0,0 +1,391 @@
+package com.groq.api.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.groq.api.exceptions.GroqApiException;
+
+/**
+ * Circuit breaker per endpoint and model that stops sending requests while the API is failing.
+ * <p>
+ * Every circuit keeps the outcomes of its most recent calls in a sliding window. Server errors
+ * (500 to 599 and 498) and exchanges that got no response count as failures, and calls whose
+ * response took longer than the slow call duration count as slow. Once the window holds enough
+ * calls and either the failure rate or the slow call rate reaches its threshold, the circuit
+ * opens: requests fail immediately with a GroqApiException with status 503 and error type
+ * {@link #OPEN_ERROR_TYPE}, without waiting for a connection or a timeout. Rate limiting (429)
+ * and other client errors do not count, since they say nothing about the health of the API.
+ * <p>
+ * After the open duration, a few probe requests are let through. If all of them succeed in time,
+ * the circuit closes again; otherwise it opens for another open duration.
+ */
+public final class CircuitBreaker {
+    /**
+     * The error type of the GroqApiException requests fail with while a circuit is open.
+     */
+    public static final String OPEN_ERROR_TYPE = "circuit_open";
+
+    /**
+     * The default failure rate at which a circuit opens.
+     */
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+
+    /**
+     * The default duration after which a call counts as slow.
+     */
+    public static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * The default slow call rate at which a circuit opens.
+     */
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+
+    /**
+     * The default number of calls in the sliding window.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 50;
+
+    /**
+     * The default time a circuit stays open before it is probed.
+     */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    private static final int HALF_OPEN_PROBES = 3;
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    /**
+     * The state of a circuit.
+     */
+    public enum State {
+        /**
+         * Requests are sent and their outcomes recorded.
+         */
+        CLOSED,
+        /**
+         * Requests fail immediately.
+         */
+        OPEN,
+        /**
+         * A few probe requests are sent to find out whether the API has recovered.
+         */
+        HALF_OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final Map<Key, Circuit> circuits = new ConcurrentHashMap<>();
+    private final LongAdder rejections = new LongAdder();
+
+    private CircuitBreaker(
+            double failureRateThreshold,
+            Duration slowCallDuration,
+            double slowCallRateThreshold,
+            int windowSize,
+            Duration openDuration) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.max(1, windowSize / 5);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Creates a circuit breaker with the default thresholds.
+     *
+     * @return A new CircuitBreaker instance.
+     */
+    public static CircuitBreaker create() {
+        return create(
+            DEFAULT_FAILURE_RATE_THRESHOLD,
+            DEFAULT_SLOW_CALL_DURATION,
+            DEFAULT_SLOW_CALL_RATE_THRESHOLD,
+            DEFAULT_WINDOW_SIZE,
+            DEFAULT_OPEN_DURATION
+        );
+    }
+
+    /**
+     * Creates a circuit breaker. A circuit is only judged once its window holds a fifth of the
+     * window size in calls.
+     *
+     * @param failureRateThreshold The failure rate at which a circuit opens, such as 0.5.
+     * @param slowCallDuration The duration after which a call counts as slow.
+     * @param slowCallRateThreshold The slow call rate at which a circuit opens, such as 0.8.
+     * @param windowSize The number of recent calls the rates are computed over.
+     * @param openDuration The time a circuit stays open before it is probed.
+     * @return A new CircuitBreaker instance.
+     */
+    public static CircuitBreaker create(
+            double failureRateThreshold,
+            Duration slowCallDuration,
+            double slowCallRateThreshold,
+            int windowSize,
+            Duration openDuration) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1
+                || slowCallRateThreshold <= 0 || slowCallRateThreshold > 1) {
+            throw new IllegalArgumentException("Rate thresholds must be greater than 0 and at most 1");
+        }
+        if (slowCallDuration == null || slowCallDuration.isNegative() || slowCallDuration.isZero()) {
+            throw new IllegalArgumentException("Slow call duration must be positive: " + slowCallDuration);
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1: " + windowSize);
+        }
+        if (openDuration == null || openDuration.isNegative()) {
+            throw new IllegalArgumentException("Open duration must not be negative: " + openDuration);
+        }
+        return new CircuitBreaker(failureRateThreshold, slowCallDuration, slowCallRateThreshold, windowSize, openDuration);
+    }
+
+    /**
+     * Asks the circuit of an endpoint and model for permission to send a request.
+     *
+     * @param endpoint The endpoint the request targets, such as {@code /chat/completions}.
+     * @param model The model the request targets, or null for requests without a model.
+     * @return A CompletableFuture that is already completed: with a permit, or with a
+     *         GroqApiException with status 503 if the circuit is open.
+     */
+    public CompletableFuture<Permit> acquire(String endpoint, String model) {
+        Key key = new Key(Objects.requireNonNull(endpoint, "endpoint"), model == null ? "" : model);
+        Circuit circuit = circuits.computeIfAbsent(key, Circuit::new);
+        Permit permit = circuit.tryAcquire(System.nanoTime());
+        if (permit == null) {
+            rejections.increment();
+            return CompletableFuture.failedFuture(new GroqApiException(
+                503,
+                "Circuit breaker is open for " + key,
+                OPEN_ERROR_TYPE,
+                null,
+                null
+            ));
+        }
+        return CompletableFuture.completedFuture(permit);
+    }
+
+    /**
+     * Returns the state of the circuit of an endpoint and model.
+     *
+     * @param endpoint The endpoint.
+     * @param model The model, or null for requests without a model.
+     * @return The state; circuits that have not seen any request are closed.
+     */
+    public State state(String endpoint, String model) {
+        Circuit circuit = circuits.get(new Key(endpoint, model == null ? "" : model));
+        return circuit == null ? State.CLOSED : circuit.state;
+    }
+
+    /**
+     * Returns the number of requests that failed fast because their circuit was open.
+     *
+     * @return The number of rejected requests.
+     */
+    public long rejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Returns whether a failure was produced by an open circuit rather than by the API.
+     *
+     * @param failure The failure, possibly wrapped in completion exceptions.
+     * @return true if the request was never sent because its circuit was open.
+     */
+    public static boolean isOpenCircuit(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof GroqApiException apiException) {
+                return OPEN_ERROR_TYPE.equals(apiException.getErrorType());
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The permission to send one request. Call {@link #markSent()} when the request is sent,
+     * then record its outcome once; a request that is abandoned before it is sent is released.
+     */
+    public static final class Permit {
+        private final Circuit circuit;
+        private final long generation;
+        private final boolean probe;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile long sentAt = System.nanoTime();
+
+        private Permit(Circuit circuit, long generation, boolean probe) {
+            this.circuit = circuit;
+            this.generation = generation;
+            this.probe = probe;
+        }
+
+        /**
+         * Starts measuring the latency of the request, so time spent waiting for other limits
+         * before it was sent does not make it a slow call.
+         */
+        public void markSent() {
+            sentAt = System.nanoTime();
+        }
+
+        /**
+         * Records the response status and latency of the request.
+         *
+         * @param statusCode The HTTP status of the response.
+         */
+        public void recordResponse(int statusCode) {
+            if (finished.compareAndSet(false, true)) {
+                byte outcome = statusCode == 498 || (statusCode >= 500 && statusCode < 600) ? FAILED : 0;
+                circuit.record(this, outcome, System.nanoTime() - sentAt);
+            }
+        }
+
+        /**
+         * Records a request that got no response. Cancelled requests are released without an
+         * outcome, since the caller gave up rather than the API.
+         *
+         * @param failure The failure of the exchange.
+         */
+        public void recordFailure(Throwable failure) {
+            for (Throwable current = failure; current != null; current = current.getCause()) {
+                if (current instanceof CancellationException) {
+                    release();
+                    return;
+                }
+                if (current.getCause() == current) {
+                    break;
+                }
+            }
+            if (finished.compareAndSet(false, true)) {
+                circuit.record(this, FAILED, System.nanoTime() - sentAt);
+            }
+        }
+
+        /**
+         * Gives the permit back without an outcome, for a request that was never sent.
+         */
+        public void release() {
+            if (finished.compareAndSet(false, true)) {
+                circuit.release(this);
+            }
+        }
+    }
+
+    /**
+     * The sliding window and state of one endpoint and model.
+     */
+    private final class Circuit {
+        private final Key key;
+        private final byte[] outcomes = new byte[windowSize];
+        private volatile State state = State.CLOSED;
+        private volatile long openUntil;
+        private long generation;
+        private int size;
+        private int next;
+        private int failures;
+        private int slowCalls;
+        private int probesStarted;
+        private int probesSucceeded;
+
+        Circuit(Key key) {
+            this.key = key;
+        }
+
+        Permit tryAcquire(long now) {
+            // An open circuit rejects without taking the lock, so failing fast stays cheap
+            if (state == State.OPEN && now - openUntil < 0) {
+                return null;
+            }
+            synchronized (this) {
+                if (state == State.OPEN) {
+                    if (now - openUntil < 0) {
+                        return null;
+                    }
+                    transition(State.HALF_OPEN);
+                }
+                if (state == State.HALF_OPEN) {
+                    if (probesStarted >= HALF_OPEN_PROBES) {
+                        return null;
+                    }
+                    probesStarted++;
+                    return new Permit(this, generation, true);
+                }
+                return new Permit(this, generation, false);
+            }
+        }
+
+        synchronized void record(Permit permit, byte outcome, long latencyNanos) {
+            if (permit.generation != generation) {
+                // The call started before the last transition and says nothing about the current state
+                return;
+            }
+            if (latencyNanos >= slowCallNanos) {
+                outcome |= SLOW;
+            }
+            if (permit.probe) {
+                if (outcome != 0) {
+                    open();
+                } else if (++probesSucceeded >= HALF_OPEN_PROBES) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+
+            if (size == windowSize) {
+                byte evicted = outcomes[next];
+                failures -= evicted & FAILED;
+                slowCalls -= (evicted & SLOW) >> 1;
+            } else {
+                size++;
+            }
+            outcomes[next] = outcome;
+            next = (next + 1) % windowSize;
+            failures += outcome & FAILED;
+            slowCalls += (outcome & SLOW) >> 1;
+
+            if (size >= minimumCalls
+                    && (failures >= failureRateThreshold * size || slowCalls >= slowCallRateThreshold * size)) {
+                open();
+            }
+        }
+
+        synchronized void release(Permit permit) {
+            if (permit.probe && permit.generation == generation) {
+                probesStarted--;
+            }
+        }
+
+        private void open() {
+            openUntil = System.nanoTime() + openNanos;
+            transition(State.OPEN);
+        }
+
+        private void transition(State target) {
+            generation++;
+            size = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+            probesStarted = 0;
+            probesSucceeded = 0;
+            state = target;
+        }
+    }
+
+    private record Key(String endpoint, String model) {
+        @Override
+        public String toString() {
+            return model.isEmpty() ? endpoint : endpoint + " with model " + model;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.groq.api.resilience;
+
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.groq.api.exceptions.GroqApiException;
+
+/**
+ * Adaptive limit on the number of concurrent requests per model.
+ * <p>
+ * The limit follows additive-increase/multiplicative-decrease control. While responses come back
+ * in about their usual time, every response raises the limit by {@code 1 / limit}, which adds
+ * one request per round of responses. When the recent latency rises to more than twice its
+ * long-term average, the API is queueing requests and the limit shrinks by 10%. A 429, 498 or
+ * 503 response, or a timeout, halves it. The limit is lowered at most once per typical
+ * response time, so a burst of rejections counts as a single congestion signal.
+ * <p>
+ * Requests over the limit wait in a bounded queue and are started in arrival order as soon as
+ * a slot frees up, without occupying a thread. When the queue is full, requests fail immediately
+ * with a GroqApiException with status 429.
+ */
+public final class ConcurrencyLimiter {
+    /**
+     * The default limit a model starts with.
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 8;
+
+    /**
+     * The default upper bound of the limit.
+     */
+    public static final int DEFAULT_MAX_LIMIT = 256;
+
+    /**
+     * The default number of requests that may wait per model.
+     */
+    public static final int DEFAULT_MAX_QUEUED = 1024;
+
+    private static final double SHORT_SMOOTHING = 0.2;
+    private static final double LONG_SMOOTHING = 0.02;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final double DROP_BACKOFF = 0.5;
+    private static final long MIN_DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final Map<String, ModelLimit> limits = new ConcurrentHashMap<>();
+
+    private ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueued) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Creates a limiter with the default limits.
+     *
+     * @return A new ConcurrencyLimiter instance.
+     */
+    public static ConcurrencyLimiter create() {
+        return create(DEFAULT_INITIAL_LIMIT, 1, DEFAULT_MAX_LIMIT, DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialLimit The limit every model starts with.
+     * @param minLimit The lower bound of the limit.
+     * @param maxLimit The upper bound of the limit.
+     * @param maxQueued The number of requests that may wait per model.
+     * @return A new ConcurrencyLimiter instance.
+     */
+    public static ConcurrencyLimiter create(int initialLimit, int minLimit, int maxLimit, int maxQueued) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Maximum queued requests must not be negative: " + maxQueued);
+        }
+        return new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, maxQueued);
+    }
+
+    /**
+     * Takes a slot for a request to the given model, waiting in the queue if the limit is reached.
+     *
+     * @param model The model the request targets.
+     * @return A CompletableFuture that completes with the slot once the request may be sent, or
+     *         fails with a GroqApiException with status 429 if the queue is full.
+     */
+    public CompletableFuture<Slot> acquire(String model) {
+        Objects.requireNonNull(model, "model");
+        return limits.computeIfAbsent(model, key -> new ModelLimit(key)).acquire();
+    }
+
+    /**
+     * Returns the current limit of a model.
+     *
+     * @param model The model.
+     * @return The number of requests that may run concurrently.
+     */
+    public int limit(String model) {
+        ModelLimit limit = limits.get(model);
+        return limit == null ? initialLimit : limit.currentLimit();
+    }
+
+    /**
+     * Returns the number of running requests of a model.
+     *
+     * @param model The model.
+     * @return The number of slots taken.
+     */
+    public int inFlight(String model) {
+        ModelLimit limit = limits.get(model);
+        return limit == null ? 0 : limit.inFlight();
+    }
+
+    /**
+     * Returns the number of waiting requests of a model.
+     *
+     * @param model The model.
+     * @return The queue length.
+     */
+    public int queued(String model) {
+        ModelLimit limit = limits.get(model);
+        return limit == null ? 0 : limit.queued();
+    }
+
+    /**
+     * A slot held by one request. Record the outcome once, then release the slot once; a streamed
+     * response records its outcome when the headers arrive and is released when the stream ends.
+     */
+    public static final class Slot {
+        private final ModelLimit limit;
+        private final long startedAt = System.nanoTime();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(ModelLimit limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Feeds the response status and latency of the request into the limit.
+         *
+         * @param statusCode The HTTP status of the response.
+         */
+        public void recordResponse(int statusCode) {
+            if (recorded.compareAndSet(false, true)) {
+                if (statusCode == 429 || statusCode == 498 || statusCode == 503) {
+                    limit.onOverload();
+                } else if (statusCode >= 200 && statusCode < 300) {
+                    limit.onLatency(System.nanoTime() - startedAt);
+                }
+            }
+        }
+
+        /**
+         * Feeds a request that got no response into the limit. Timeouts count as overload.
+         *
+         * @param failure The failure of the exchange.
+         */
+        public void recordFailure(Throwable failure) {
+            if (recorded.compareAndSet(false, true)) {
+                for (Throwable current = failure; current != null; current = current.getCause()) {
+                    if (current instanceof HttpTimeoutException) {
+                        limit.onOverload();
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Frees the slot for the next request.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+    }
+
+    /**
+     * The limit and queue of one model.
+     */
+    private final class ModelLimit {
+        private final String model;
+        private final ArrayDeque<CompletableFuture<Slot>> queue = new ArrayDeque<>();
+        private double limit = initialLimit;
+        private int inFlight;
+        private double shortLatency = -1;
+        private double longLatency = -1;
+        private long lastDecrease = System.nanoTime() - MIN_DECREASE_INTERVAL_NANOS;
+
+        ModelLimit(String model) {
+            this.model = model;
+        }
+
+        CompletableFuture<Slot> acquire() {
+            synchronized (this) {
+                if (queue.isEmpty() && inFlight < (int) limit) {
+                    inFlight++;
+                    return CompletableFuture.completedFuture(new Slot(this));
+                }
+                if (queue.size() >= maxQueued) {
+                    return CompletableFuture.failedFuture(new GroqApiException(
+                        429,
+                        "Too many queued requests for model " + model + ": " + queue.size()
+                    ));
+                }
+                CompletableFuture<Slot> waiting = new CompletableFuture<>();
+                queue.add(waiting);
+                return waiting;
+            }
+        }
+
+        void release() {
+            List<CompletableFuture<Slot>> granted;
+            synchronized (this) {
+                inFlight--;
+                granted = grant();
+            }
+            // Waiters continue with their request, so they are completed outside the lock
+            for (CompletableFuture<Slot> waiting : granted) {
+                Slot slot = new Slot(this);
+                if (!waiting.complete(slot)) {
+                    slot.release();
+                }
+            }
+        }
+
+        synchronized void onLatency(long latencyNanos) {
+            if (longLatency < 0) {
+                shortLatency = latencyNanos;
+                longLatency = latencyNanos;
+            } else {
+                shortLatency += SHORT_SMOOTHING * (latencyNanos - shortLatency);
+                longLatency += LONG_SMOOTHING * (latencyNanos - longLatency);
+            }
+            
+            if (shortLatency > longLatency * LATENCY_TOLERANCE) {
+                decrease(LATENCY_BACKOFF);
+            } else if (inFlight * 2 >= limit) {
+                // Only grow while the limit is actually used, so idle periods don't inflate it
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+
+        synchronized void onOverload() {
+            decrease(DROP_BACKOFF);
+        }
+
+        synchronized int currentLimit() {
+            return (int) limit;
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+
+        synchronized int queued() {
+            return queue.size();
+        }
+
+        private void decrease(double factor) {
+            long now = System.nanoTime();
+            long interval = Math.max(MIN_DECREASE_INTERVAL_NANOS, (long) longLatency);
+            if (now - lastDecrease < interval) {
+                return;
+            }
+            limit = Math.max(minLimit, limit * factor);
+            lastDecrease = now;
+        }
+
+        private List<CompletableFuture<Slot>> grant() {
+            List<CompletableFuture<Slot>> granted = new ArrayList<>();
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                CompletableFuture<Slot> waiting = queue.poll();
+                if (!waiting.isDone()) {
+                    inFlight++;
+                    granted.add(waiting);
+                }
+            }
+            return granted;
+        }
+    }
+}
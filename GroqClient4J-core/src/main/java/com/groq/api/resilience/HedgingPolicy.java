@@ -0,0 +1,268 @@
+package com.groq.api.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends a duplicate of a request that takes longer than usual, and keeps whichever answers first.
+ * <p>
+ * The hedge delay is a percentile of the recent latencies of the same kind of request, such as
+ * the 95th percentile per model: when the original request has not completed by then, the call is
+ * started a second time. The first successful response completes the call and the other request
+ * is cancelled, which aborts its HTTP exchange. A call only fails once both requests have failed.
+ * <p>
+ * Hedges draw from a budget that every call tops up by the maximum hedge ratio, so the extra load
+ * stays below that ratio even when latency degrades across the board. Until enough latencies have
+ * been observed, requests are not hedged.
+ */
+public final class HedgingPolicy {
+    /**
+     * The default latency percentile after which a request is hedged.
+     */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    /**
+     * The default upper bound of duplicate requests per call.
+     */
+    public static final double DEFAULT_MAX_HEDGE_RATIO = 0.05;
+
+    /**
+     * The default lower bound of the hedge delay.
+     */
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(50);
+
+    private static final int WINDOW_SIZE = 512;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_INTERVAL = 16;
+    private static final double BUDGET_RESERVE = 1;
+    private static final double MAX_BUDGET = 100;
+
+    private final double percentile;
+    private final double maxHedgeRatio;
+    private final long minDelayNanos;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetRejections = new LongAdder();
+    private double budget = BUDGET_RESERVE;
+
+    private HedgingPolicy(double percentile, double maxHedgeRatio, Duration minDelay) {
+        this.percentile = percentile;
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.minDelayNanos = minDelay.toNanos();
+    }
+
+    /**
+     * Creates a policy that hedges after the 95th percentile with at most 5% extra requests.
+     *
+     * @return A new HedgingPolicy instance.
+     */
+    public static HedgingPolicy create() {
+        return create(DEFAULT_PERCENTILE, DEFAULT_MAX_HEDGE_RATIO, DEFAULT_MIN_DELAY);
+    }
+
+    /**
+     * Creates a policy.
+     *
+     * @param percentile The latency percentile after which a request is hedged, such as 0.95.
+     * @param maxHedgeRatio The upper bound of duplicate requests per call, such as 0.05.
+     * @param minDelay The lower bound of the hedge delay.
+     * @return A new HedgingPolicy instance.
+     */
+    public static HedgingPolicy create(double percentile, double maxHedgeRatio, Duration minDelay) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1: " + percentile);
+        }
+        if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+            throw new IllegalArgumentException("Maximum hedge ratio must be between 0 and 1: " + maxHedgeRatio);
+        }
+        if (minDelay == null || minDelay.isNegative()) {
+            throw new IllegalArgumentException("Minimum delay must not be negative: " + minDelay);
+        }
+        return new HedgingPolicy(percentile, maxHedgeRatio, minDelay);
+    }
+
+    /**
+     * Runs a call, hedging it if it is slower than the percentile of its kind.
+     * Cancelling the returned future cancels every request of the call.
+     *
+     * @param key The kind of request whose latencies are compared, such as the model.
+     * @param call Starts one request. It must be safe to invoke twice.
+     * @param <T> The result type.
+     * @return A CompletableFuture that completes with the first successful response.
+     */
+    public <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call) {
+        calls.increment();
+        synchronized (this) {
+            budget = Math.min(MAX_BUDGET, budget + maxHedgeRatio);
+        }
+        LatencyWindow window = windows.computeIfAbsent(key, ignored -> new LatencyWindow());
+        HedgedCall<T> hedged = new HedgedCall<>(call, window);
+        hedged.start(window.hedgeDelayNanos());
+        return hedged.result;
+    }
+
+    /**
+     * Returns the current hedge delay for a kind of request.
+     *
+     * @param key The kind of request.
+     * @return The delay, or empty while too few latencies have been observed.
+     */
+    public Optional<Duration> hedgeDelay(String key) {
+        LatencyWindow window = windows.get(key);
+        long delay = window == null ? -1 : window.hedgeDelayNanos();
+        return delay < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(delay));
+    }
+
+    /**
+     * Returns the statistics of this policy.
+     *
+     * @return A snapshot of the counters.
+     */
+    public HedgingStats stats() {
+        return new HedgingStats(calls.sum(), hedges.sum(), hedgeWins.sum(), budgetRejections.sum());
+    }
+
+    private synchronized boolean withdrawBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    /**
+     * The original request of a call and, after the hedge delay, its duplicate.
+     */
+    private final class HedgedCall<T> {
+        private final Supplier<CompletableFuture<T>> call;
+        private final LatencyWindow window;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long startedAt = System.nanoTime();
+        private CompletableFuture<T> original;
+        private CompletableFuture<T> hedge;
+        private int pending = 1;
+
+        HedgedCall(Supplier<CompletableFuture<T>> call, LatencyWindow window) {
+            this.call = call;
+            this.window = window;
+        }
+
+        void start(long hedgeDelayNanos) {
+            result.whenComplete((value, failure) -> {
+                if (result.isCancelled()) {
+                    cancelAll();
+                }
+            });
+            CompletableFuture<T> first = attempt();
+            synchronized (this) {
+                original = first;
+            }
+            first.whenComplete((value, failure) -> onComplete(false, value, failure));
+            if (hedgeDelayNanos >= 0) {
+                CompletableFuture.delayedExecutor(Math.max(hedgeDelayNanos, minDelayNanos), TimeUnit.NANOSECONDS)
+                    .execute(this::sendHedge);
+            }
+        }
+
+        private void sendHedge() {
+            synchronized (this) {
+                // A call whose original request already failed is not hedged, the retry policy
+                // decides whether it is sent again
+                if (result.isDone()) {
+                    return;
+                }
+                if (!withdrawBudget()) {
+                    budgetRejections.increment();
+                    return;
+                }
+                pending++;
+            }
+            hedges.increment();
+            CompletableFuture<T> second = attempt();
+            synchronized (this) {
+                hedge = second;
+            }
+            if (result.isDone()) {
+                second.cancel(true);
+            }
+            second.whenComplete((value, failure) -> onComplete(true, value, failure));
+        }
+
+        private CompletableFuture<T> attempt() {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private void onComplete(boolean isHedge, T value, Throwable failure) {
+            if (failure == null) {
+                if (result.complete(value)) {
+                    window.record(System.nanoTime() - startedAt);
+                    if (isHedge) {
+                        hedgeWins.increment();
+                    }
+                    cancelAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                if (--pending > 0) {
+                    return;
+                }
+            }
+            result.completeExceptionally(failure);
+        }
+
+        private void cancelAll() {
+            CompletableFuture<T> first;
+            CompletableFuture<T> second;
+            synchronized (this) {
+                first = original;
+                second = hedge;
+            }
+            if (first != null) {
+                first.cancel(true);
+            }
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * The recent latencies of one kind of request, and the hedge delay derived from them.
+     */
+    private final class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private long count;
+        private int next;
+        private volatile long hedgeDelayNanos = -1;
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % WINDOW_SIZE;
+            count++;
+            if (count >= MIN_SAMPLES && count % RECOMPUTE_INTERVAL == 0) {
+                long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, WINDOW_SIZE));
+                Arrays.sort(sorted);
+                int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+                hedgeDelayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+            }
+        }
+
+        long hedgeDelayNanos() {
+            return hedgeDelayNanos;
+        }
+    }
+}
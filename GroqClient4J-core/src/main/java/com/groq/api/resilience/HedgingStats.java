@@ -0,0 +1,25 @@
+package com.groq.api.resilience;
+
+/**
+ * Statistics for a {@link HedgingPolicy}.
+ *
+ * @param calls The number of calls made through the policy.
+ * @param hedges The number of duplicate requests sent.
+ * @param hedgeWins The number of calls answered by the duplicate rather than the original request.
+ * @param budgetRejections The number of duplicates not sent because the hedge budget was used up.
+ */
+public record HedgingStats(
+    long calls,
+    long hedges,
+    long hedgeWins,
+    long budgetRejections
+) {
+    /**
+     * Returns the ratio of duplicate requests to calls.
+     *
+     * @return The extra load caused by hedging, or 0 if there were no calls.
+     */
+    public double hedgeRatio() {
+        return calls == 0 ? 0 : (double) hedges / calls;
+    }
+}
@@ -0,0 +1,428 @@
+package com.groq.api.resilience;
+
+import java.net.ConnectException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.groq.api.config.ApiTarget;
+
+/**
+ * Spreads requests over a pool of API keys and base URLs.
+ * <p>
+ * Every request goes to the healthy target with the best score. The score grows with the number
+ * of requests the target has in flight and, with {@link Strategy#LOWEST_LATENCY}, with its recent
+ * latency; a target that has not completed a request yet is assumed to be as fast as the mean of
+ * the measured ones. The score is divided by the share of the rate limit the target's API key has
+ * left, read from the {@code x-ratelimit-remaining-*} headers, so keys close to their limit
+ * receive fewer requests. A key that got a 429 or has no budget left receives none until its
+ * limit resets. Targets with equal scores take turns.
+ * <p>
+ * A target becomes unhealthy for the cooldown when a connection to it cannot be established,
+ * when its key is rejected with 401 or 403, or after three server errors or failed exchanges in
+ * a row. Unhealthy targets are skipped, so requests fail over to the rest of the pool; with a
+ * {@link RetryPolicy}, the retry of a failed request is sent to another target. If every target
+ * is unhealthy or out of budget, the one that becomes available first is used anyway.
+ */
+public final class LoadBalancer {
+    /**
+     * The default time an unhealthy target is skipped.
+     */
+    public static final Duration DEFAULT_COOLDOWN = Duration.ofSeconds(10);
+
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    /**
+     * How targets are ranked.
+     */
+    public enum Strategy {
+        /**
+         * Prefers the target with the fewest requests in flight.
+         */
+        LEAST_LOADED,
+        /**
+         * Prefers the target with the lowest recent latency, weighted by its requests in flight.
+         */
+        LOWEST_LATENCY
+    }
+
+    private final Strategy strategy;
+    private final long cooldownNanos;
+    private final Map<ApiTarget, Node> nodes;
+    private final Node[] ring;
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+    private final AtomicInteger turn = new AtomicInteger();
+
+    private LoadBalancer(List<ApiTarget> targets, Strategy strategy, Duration cooldown) {
+        this.strategy = strategy;
+        this.cooldownNanos = cooldown.toNanos();
+        Map<ApiTarget, Node> byTarget = new LinkedHashMap<>();
+        for (ApiTarget target : targets) {
+            Budget budget = budgets.computeIfAbsent(target.apiKey(), key -> new Budget());
+            if (byTarget.putIfAbsent(target, new Node(target, budget)) != null) {
+                throw new IllegalArgumentException("Duplicate target: " + target);
+            }
+        }
+        this.nodes = byTarget;
+        this.ring = byTarget.values().toArray(new Node[0]);
+    }
+
+    /**
+     * Creates a load balancer that prefers the least loaded target.
+     *
+     * @param targets The API keys and base URLs to spread requests over.
+     * @return A new LoadBalancer instance.
+     */
+    public static LoadBalancer create(List<ApiTarget> targets) {
+        return create(targets, Strategy.LEAST_LOADED, DEFAULT_COOLDOWN);
+    }
+
+    /**
+     * Creates a load balancer.
+     *
+     * @param targets The API keys and base URLs to spread requests over.
+     * @param strategy How targets are ranked.
+     * @param cooldown The time an unhealthy target is skipped.
+     * @return A new LoadBalancer instance.
+     */
+    public static LoadBalancer create(List<ApiTarget> targets, Strategy strategy, Duration cooldown) {
+        if (targets == null || targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one target is required");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy must not be null");
+        }
+        if (cooldown == null || cooldown.isNegative()) {
+            throw new IllegalArgumentException("Cooldown must not be negative: " + cooldown);
+        }
+        return new LoadBalancer(targets, strategy, cooldown);
+    }
+
+    /**
+     * Picks the target for the next request and counts the request as in flight on it.
+     *
+     * @return The lease on the target, to be released when the exchange is over.
+     */
+    public Lease select() {
+        long now = System.nanoTime();
+        double bootstrapLatency = strategy == Strategy.LOWEST_LATENCY ? meanLatency() : 1;
+        int start = Math.floorMod(turn.getAndIncrement(), ring.length);
+        Node best = null;
+        double bestScore = Double.POSITIVE_INFINITY;
+        Node recovering = null;
+        long recoveringAt = 0;
+        for (int i = 0; i < ring.length; i++) {
+            Node node = ring[(start + i) % ring.length];
+            double share = node.budget.share(now);
+            if (!node.isHealthy(now) || share == 0) {
+                long availableAt = node.availableAt(now);
+                if (recovering == null || availableAt - recoveringAt < 0) {
+                    recovering = node;
+                    recoveringAt = availableAt;
+                }
+                continue;
+            }
+            double score = node.score(share, bootstrapLatency);
+            if (best == null || score < bestScore) {
+                best = node;
+                bestScore = score;
+            }
+        }
+        Node chosen = best != null ? best : recovering;
+        chosen.inFlight.incrementAndGet();
+        return new Lease(chosen);
+    }
+
+    /**
+     * Returns the targets of this load balancer.
+     *
+     * @return The targets in the order they were given.
+     */
+    public List<ApiTarget> targets() {
+        return new ArrayList<>(nodes.keySet());
+    }
+
+    /**
+     * Returns whether a target currently receives requests.
+     *
+     * @param target The target.
+     * @return false while the target is skipped after failures.
+     */
+    public boolean isHealthy(ApiTarget target) {
+        return node(target).isHealthy(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of requests in flight on a target.
+     *
+     * @param target The target.
+     * @return The number of leases that have not been released.
+     */
+    public int inFlight(ApiTarget target) {
+        return node(target).inFlight.get();
+    }
+
+    /**
+     * Returns the mean latency of the targets measured so far, or 1 if none was, so targets
+     * without a measurement compete on their load.
+     */
+    private double meanLatency() {
+        double sum = 0;
+        int measured = 0;
+        for (Node node : ring) {
+            double latency = node.latencyNanos;
+            if (latency > 0) {
+                sum += latency;
+                measured++;
+            }
+        }
+        return measured == 0 ? 1 : sum / measured;
+    }
+
+    private Node node(ApiTarget target) {
+        Node node = nodes.get(target);
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown target: " + target);
+        }
+        return node;
+    }
+
+    /**
+     * One request on a target. Call {@link #markSent()} when the request is sent, record its
+     * outcome once, and release the lease once when the exchange is over.
+     */
+    public static final class Lease {
+        private final Node node;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long sentAt = System.nanoTime();
+
+        private Lease(Node node) {
+            this.node = node;
+        }
+
+        /**
+         * Returns the target the request is sent to.
+         *
+         * @return The API key and base URL to use.
+         */
+        public ApiTarget target() {
+            return node.target;
+        }
+
+        /**
+         * Starts measuring the latency of the request, so time spent waiting for other limits
+         * before it was sent does not count.
+         */
+        public void markSent() {
+            sentAt = System.nanoTime();
+        }
+
+        /**
+         * Feeds the response into the health, latency and rate limit budget of the target.
+         *
+         * @param statusCode The HTTP status of the response.
+         * @param headers The response headers.
+         */
+        public void recordResponse(int statusCode, HttpHeaders headers) {
+            if (recorded.compareAndSet(false, true)) {
+                node.onResponse(statusCode, headers, System.nanoTime() - sentAt);
+            }
+        }
+
+        /**
+         * Feeds a request that got no response into the health of the target. Cancelled requests
+         * are ignored.
+         *
+         * @param failure The failure of the exchange.
+         */
+        public void recordFailure(Throwable failure) {
+            if (recorded.compareAndSet(false, true)) {
+                node.onFailure(failure);
+            }
+        }
+
+        /**
+         * Ends the request, so it no longer counts as in flight.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                node.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The health and latency of one target.
+     */
+    private final class Node {
+        private final ApiTarget target;
+        private final Budget budget;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long unhealthyUntil = System.nanoTime();
+        private volatile boolean unhealthy;
+        private volatile double latencyNanos;
+        private int consecutiveFailures;
+
+        Node(ApiTarget target, Budget budget) {
+            this.target = target;
+            this.budget = budget;
+        }
+
+        boolean isHealthy(long now) {
+            return !unhealthy || now - unhealthyUntil >= 0;
+        }
+
+        /**
+         * Returns the time the target receives requests again: when its cooldown ends or its
+         * key's budget resets, whichever is later.
+         */
+        long availableAt(long now) {
+            long healthyAt = isHealthy(now) ? now : unhealthyUntil;
+            long budgetAt = budget.availableAt(now);
+            return budgetAt - healthyAt > 0 ? budgetAt : healthyAt;
+        }
+
+        double score(double share, double bootstrapLatency) {
+            double load = inFlight.get() + 1;
+            if (strategy == Strategy.LOWEST_LATENCY) {
+                // Unmeasured targets rank as average ones rather than best, so a target that
+                // only ever answers with errors does not attract every request
+                double latency = latencyNanos;
+                load *= latency > 0 ? latency : bootstrapLatency;
+            }
+            int failures;
+            synchronized (this) {
+                failures = consecutiveFailures;
+            }
+            return load * (1 + failures) / share;
+        }
+
+        void onResponse(int statusCode, HttpHeaders headers, long elapsedNanos) {
+            long now = System.nanoTime();
+            budget.update(statusCode, headers, now);
+            if (statusCode == 401 || statusCode == 403) {
+                markUnhealthy(now);
+            } else if (statusCode == 498 || statusCode >= 500) {
+                onError(now);
+            } else {
+                synchronized (this) {
+                    consecutiveFailures = 0;
+                    if (statusCode >= 200 && statusCode < 300) {
+                        latencyNanos = latencyNanos == 0
+                            ? elapsedNanos
+                            : latencyNanos + LATENCY_SMOOTHING * (elapsedNanos - latencyNanos);
+                    }
+                }
+                unhealthy = false;
+            }
+        }
+
+        void onFailure(Throwable failure) {
+            long now = System.nanoTime();
+            for (Throwable current = failure; current != null; current = current.getCause()) {
+                if (current instanceof CancellationException) {
+                    return;
+                }
+                if (current instanceof ConnectException) {
+                    markUnhealthy(now);
+                    return;
+                }
+                if (current.getCause() == current) {
+                    break;
+                }
+            }
+            onError(now);
+        }
+
+        private void onError(long now) {
+            boolean failing;
+            synchronized (this) {
+                failing = ++consecutiveFailures >= FAILURE_THRESHOLD;
+            }
+            if (failing) {
+                markUnhealthy(now);
+            }
+        }
+
+        private void markUnhealthy(long now) {
+            synchronized (this) {
+                consecutiveFailures = Math.max(consecutiveFailures, FAILURE_THRESHOLD);
+            }
+            unhealthyUntil = now + cooldownNanos;
+            unhealthy = true;
+        }
+    }
+
+    /**
+     * The share of the rate limit an API key has left, as reported by the last response.
+     */
+    private static final class Budget {
+        private double requestShare = 1;
+        private double tokenShare = 1;
+        private long requestResetAt;
+        private long tokenResetAt;
+        private long pausedUntil;
+
+        synchronized double share(long now) {
+            if (now - pausedUntil < 0) {
+                return 0;
+            }
+            double requests = now - requestResetAt < 0 ? requestShare : 1;
+            double tokens = now - tokenResetAt < 0 ? tokenShare : 1;
+            return Math.min(requests, tokens);
+        }
+
+        /**
+         * Returns the time the share is no longer zero: when the pause after a 429 ends, or when
+         * an exhausted limit resets.
+         */
+        synchronized long availableAt(long now) {
+            long availableAt = now;
+            if (now - pausedUntil < 0) {
+                availableAt = pausedUntil;
+            }
+            if (requestShare == 0 && requestResetAt - availableAt > 0) {
+                availableAt = requestResetAt;
+            }
+            if (tokenShare == 0 && tokenResetAt - availableAt > 0) {
+                availableAt = tokenResetAt;
+            }
+            return availableAt;
+        }
+
+        synchronized void update(int statusCode, HttpHeaders headers, long now) {
+            long requestLimit = RateLimiter.headerLong(headers, "x-ratelimit-limit-requests");
+            long requestsLeft = RateLimiter.headerLong(headers, "x-ratelimit-remaining-requests");
+            OptionalLong requestReset = RateLimiter.parseDurationNanos(
+                headers.firstValue("x-ratelimit-reset-requests").orElse(null));
+            if (requestLimit > 0 && requestsLeft >= 0 && requestReset.isPresent()) {
+                requestShare = Math.min(1, (double) requestsLeft / requestLimit);
+                requestResetAt = now + requestReset.getAsLong();
+            }
+            long tokenLimit = RateLimiter.headerLong(headers, "x-ratelimit-limit-tokens");
+            long tokensLeft = RateLimiter.headerLong(headers, "x-ratelimit-remaining-tokens");
+            OptionalLong tokenReset = RateLimiter.parseDurationNanos(
+                headers.firstValue("x-ratelimit-reset-tokens").orElse(null));
+            if (tokenLimit > 0 && tokensLeft >= 0 && tokenReset.isPresent()) {
+                tokenShare = Math.min(1, (double) tokensLeft / tokenLimit);
+                tokenResetAt = now + tokenReset.getAsLong();
+            }
+            if (statusCode == 429) {
+                Duration retryAfter = RetryPolicy.retryAfter(headers);
+                long pause = retryAfter != null ? retryAfter.toNanos() : TimeUnit.SECONDS.toNanos(1);
+                pausedUntil = now + pause;
+            }
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.groq.api.resilience;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.groq.api.exceptions.GroqApiException;
+
+/**
+ * Client-side rate limiter for requests and tokens, tracked separately for every API key and model.
+ * <p>
+ * Each key and model pair has a requests-per-minute and a tokens-per-minute token bucket. The
+ * buckets start at the configured limits and follow the rate-limit headers of every response:
+ * the token bucket adopts {@code x-ratelimit-limit-tokens} when it is lower, and the remaining
+ * requests and tokens are tracked as buckets that refill by their reset times, which holds back
+ * requests the API would reject and spreads waiting requests out instead of releasing them at once.
+ * After a 429 response, the pair is paused for the {@code retry-after} period.
+ * <p>
+ * Callers wait asynchronously: {@link #acquire} returns a future that completes once the request
+ * may be sent, without occupying a thread in the meantime. Waiting callers are admitted in the
+ * order they called, and a request that would have to wait longer than the maximum wait fails
+ * immediately instead.
+ */
+public final class RateLimiter {
+    /**
+     * The default maximum time a request waits for capacity.
+     */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofMinutes(1);
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final double requestsPerMinute;
+    private final double tokensPerMinute;
+    private final long maxWaitNanos;
+    private final Map<Key, Limits> limits = new ConcurrentHashMap<>();
+
+    private RateLimiter(double requestsPerMinute, double tokensPerMinute, Duration maxWait) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Creates a limiter that only follows the rate-limit headers of the API.
+     *
+     * @return A new RateLimiter instance.
+     */
+    public static RateLimiter create() {
+        return create(0, 0, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Creates a limiter with local limits, which are lowered further by the rate-limit headers.
+     *
+     * @param requestsPerMinute The maximum requests per minute per model, or 0 for no local limit.
+     * @param tokensPerMinute The maximum tokens per minute per model, or 0 for no local limit.
+     * @return A new RateLimiter instance.
+     */
+    public static RateLimiter create(int requestsPerMinute, int tokensPerMinute) {
+        return create(requestsPerMinute, tokensPerMinute, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Creates a limiter with local limits and a maximum wait.
+     *
+     * @param requestsPerMinute The maximum requests per minute per model, or 0 for no local limit.
+     * @param tokensPerMinute The maximum tokens per minute per model, or 0 for no local limit.
+     * @param maxWait How long a request may wait for capacity before it fails.
+     * @return A new RateLimiter instance.
+     */
+    public static RateLimiter create(int requestsPerMinute, int tokensPerMinute, Duration maxWait) {
+        if (requestsPerMinute < 0 || tokensPerMinute < 0) {
+            throw new IllegalArgumentException("Limits must not be negative");
+        }
+        if (maxWait == null || maxWait.isNegative()) {
+            throw new IllegalArgumentException("Maximum wait must not be negative: " + maxWait);
+        }
+        return new RateLimiter(unlimitedIfZero(requestsPerMinute), unlimitedIfZero(tokensPerMinute), maxWait);
+    }
+
+    /**
+     * Reserves capacity for one request.
+     *
+     * @param apiKey The API key the request is sent with.
+     * @param model The model the request targets.
+     * @param tokens The estimated number of tokens the request consumes.
+     * @return A CompletableFuture that completes with a permit once the request may be sent, or
+     *         fails with a GroqApiException with status 429 if it would wait too long.
+     */
+    public CompletableFuture<Permit> acquire(String apiKey, String model, int tokens) {
+        Limits pair = limits.computeIfAbsent(new Key(apiKey, model), key -> new Limits());
+        long waitNanos = pair.reserve(Math.max(0, tokens), System.nanoTime());
+        if (waitNanos < 0) {
+            return CompletableFuture.failedFuture(new GroqApiException(
+                429,
+                "Rate limit of model " + model + " would be exceeded for longer than " + Duration.ofNanos(maxWaitNanos)
+            ));
+        }
+        
+        Permit permit = new Permit(pair, Math.max(0, tokens));
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(permit);
+        }
+        return new CompletableFuture<Permit>().completeOnTimeout(permit, waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of requests admitted but not yet answered, across all models.
+     *
+     * @return The number of requests in flight.
+     */
+    public long inFlight() {
+        long inFlight = 0;
+        for (Limits pair : limits.values()) {
+            inFlight += pair.inFlightRequests();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Capacity reserved for one request. Report the response, or the failure to get one, exactly
+     * once; later calls are ignored.
+     */
+    public static final class Permit {
+        private final Limits limits;
+        private final int tokens;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Limits limits, int tokens) {
+            this.limits = limits;
+            this.tokens = tokens;
+        }
+
+        /**
+         * Releases the permit and resynchronizes the limits from the response headers.
+         *
+         * @param statusCode The HTTP status of the response.
+         * @param headers The response headers.
+         */
+        public void update(int statusCode, HttpHeaders headers) {
+            if (released.compareAndSet(false, true)) {
+                limits.update(tokens, statusCode, headers, System.nanoTime());
+            }
+        }
+
+        /**
+         * Releases the permit of a request that got no response.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                limits.release(tokens);
+            }
+        }
+    }
+
+    private static double unlimitedIfZero(int limit) {
+        return limit == 0 ? Double.POSITIVE_INFINITY : limit;
+    }
+
+    /**
+     * Parses a duration in the format of the reset headers, such as {@code 7.66s}, {@code 2m59.56s}
+     * or {@code 120ms}.
+     */
+    static OptionalLong parseDurationNanos(String value) {
+        if (value == null || value.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        double nanos = 0;
+        int i = 0;
+        int length = value.length();
+        while (i < length) {
+            int start = i;
+            while (i < length && (Character.isDigit(value.charAt(i)) || value.charAt(i) == '.')) {
+                i++;
+            }
+            int unitStart = i;
+            while (i < length && Character.isLetter(value.charAt(i))) {
+                i++;
+            }
+            if (start == unitStart) {
+                return OptionalLong.empty();
+            }
+            double amount;
+            try {
+                amount = Double.parseDouble(value.substring(start, unitStart));
+            } catch (NumberFormatException e) {
+                return OptionalLong.empty();
+            }
+            switch (value.substring(unitStart, i)) {
+                case "h" -> nanos += amount * 3_600e9;
+                case "m" -> nanos += amount * 60e9;
+                case "s", "" -> nanos += amount * 1e9;
+                case "ms" -> nanos += amount * 1e6;
+                case "us", "µs" -> nanos += amount * 1e3;
+                case "ns" -> nanos += amount;
+                default -> {
+                    return OptionalLong.empty();
+                }
+            }
+        }
+        return OptionalLong.of((long) nanos);
+    }
+
+    static long headerLong(HttpHeaders headers, String name) {
+        return headers.firstValue(name).map(value -> {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return -1L;
+            }
+        }).orElse(-1L);
+    }
+
+    private record Key(String apiKey, String model) {
+        Key {
+            Objects.requireNonNull(model, "model");
+        }
+    }
+
+    /**
+     * A per-minute token bucket. Its balance may go negative: callers reserve capacity ahead of
+     * time and wait until the bucket has refilled to cover them.
+     */
+    private static final class Bucket {
+        private final double configuredLimit;
+        private double limit;
+        private double available;
+        private long lastRefill;
+
+        Bucket(double limit, long now) {
+            this.configuredLimit = limit;
+            this.limit = limit;
+            this.available = limit;
+            this.lastRefill = now;
+        }
+
+        boolean unlimited() {
+            return limit == Double.POSITIVE_INFINITY;
+        }
+
+        void refill(long now) {
+            if (!unlimited()) {
+                available = Math.min(limit, available + (now - lastRefill) * limit / MINUTE_NANOS);
+            }
+            lastRefill = now;
+        }
+
+        double cap(double amount) {
+            return Math.min(amount, limit);
+        }
+
+        long waitNanos(double amount) {
+            if (unlimited() || available >= amount) {
+                return 0;
+            }
+            return (long) Math.ceil((amount - available) * MINUTE_NANOS / limit);
+        }
+
+        void take(double amount) {
+            if (!unlimited()) {
+                available -= amount;
+            }
+        }
+
+        void adoptLimit(long reportedLimit) {
+            double next = Math.min(configuredLimit, reportedLimit);
+            if (reportedLimit > 0 && next != limit) {
+                available = unlimited() ? next : Math.min(available, next);
+                limit = next;
+            }
+        }
+    }
+
+    /**
+     * What the API last reported about one quota, continued as a token bucket that is full again
+     * at the reported reset time. Requests sent since the report are counted as in flight.
+     */
+    private static final class Window {
+        private boolean known;
+        private double limit;
+        private double available;
+        private double refillPerNano;
+        private long resetAt;
+        private long lastRefill;
+        private long inFlight;
+
+        void refill(long now) {
+            if (known && refillPerNano == 0 && now - resetAt >= 0) {
+                // Without the limit the refill rate is unknown, so the report expires at the reset
+                known = false;
+            }
+            if (known && refillPerNano > 0) {
+                available = Math.min(limit, available + (now - lastRefill) * refillPerNano);
+            }
+            lastRefill = now;
+        }
+
+        long waitNanos(double amount, long now) {
+            if (!known) {
+                return 0;
+            }
+            double needed = Math.min(amount, limit);
+            if (available >= needed) {
+                return 0;
+            }
+            if (refillPerNano > 0) {
+                return (long) Math.ceil((needed - available) / refillPerNano);
+            }
+            return resetAt - now;
+        }
+
+        void take(double amount) {
+            if (known) {
+                available -= Math.min(amount, limit);
+            }
+        }
+
+        void sync(long reportedLimit, long reportedRemaining, OptionalLong resetNanos, long now) {
+            if (reportedRemaining < 0 || resetNanos.isEmpty()) {
+                return;
+            }
+            long reset = Math.max(1, resetNanos.getAsLong());
+            known = true;
+            limit = Math.max(reportedLimit, reportedRemaining);
+            available = reportedRemaining - inFlight;
+            refillPerNano = reportedLimit > reportedRemaining ? (double) (reportedLimit - reportedRemaining) / reset : 0;
+            resetAt = now + reset;
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * The limits of one API key and model pair.
+     */
+    private final class Limits {
+        private final Bucket requests;
+        private final Bucket tokens;
+        private final Window requestWindow = new Window();
+        private final Window tokenWindow = new Window();
+        private long pausedUntil;
+        private boolean paused;
+
+        Limits() {
+            long now = System.nanoTime();
+            this.requests = new Bucket(requestsPerMinute, now);
+            this.tokens = new Bucket(tokensPerMinute, now);
+        }
+
+        /**
+         * Reserves capacity and returns how long to wait for it, or -1 if that exceeds the maximum.
+         */
+        synchronized long reserve(int amount, long now) {
+            requests.refill(now);
+            tokens.refill(now);
+            requestWindow.refill(now);
+            tokenWindow.refill(now);
+            double tokenAmount = tokens.cap(amount);
+            
+            long wait = Math.max(requests.waitNanos(1), tokens.waitNanos(tokenAmount));
+            wait = Math.max(wait, requestWindow.waitNanos(1, now));
+            wait = Math.max(wait, tokenWindow.waitNanos(amount, now));
+            if (paused && pausedUntil - now > 0) {
+                wait = Math.max(wait, pausedUntil - now);
+            }
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            
+            requests.take(1);
+            tokens.take(tokenAmount);
+            requestWindow.take(1);
+            tokenWindow.take(amount);
+            requestWindow.inFlight++;
+            tokenWindow.inFlight += amount;
+            return wait;
+        }
+
+        synchronized void update(int amount, int statusCode, HttpHeaders headers, long now) {
+            release(amount);
+            tokens.refill(now);
+            long tokenLimit = headerLong(headers, "x-ratelimit-limit-tokens");
+            tokens.adoptLimit(tokenLimit);
+            
+            OptionalLong requestReset = parseDurationNanos(headers.firstValue("x-ratelimit-reset-requests").orElse(null));
+            OptionalLong tokenReset = parseDurationNanos(headers.firstValue("x-ratelimit-reset-tokens").orElse(null));
+            requestWindow.sync(
+                headerLong(headers, "x-ratelimit-limit-requests"),
+                headerLong(headers, "x-ratelimit-remaining-requests"),
+                requestReset,
+                now
+            );
+            tokenWindow.sync(tokenLimit, headerLong(headers, "x-ratelimit-remaining-tokens"), tokenReset, now);
+            
+            if (statusCode == 429) {
+                Duration retryAfter = RetryPolicy.retryAfter(headers);
+                long pause = retryAfter != null
+                    ? retryAfter.toNanos()
+                    : Math.max(tokenReset.orElse(0), requestReset.orElse(0));
+                if (!paused || now + pause - pausedUntil > 0) {
+                    pausedUntil = now + pause;
+                    paused = true;
+                }
+            }
+        }
+
+        synchronized void release(int amount) {
+            requestWindow.inFlight--;
+            tokenWindow.inFlight -= amount;
+        }
+
+        synchronized long inFlightRequests() {
+            return requestWindow.inFlight;
+        }
+    }
+}
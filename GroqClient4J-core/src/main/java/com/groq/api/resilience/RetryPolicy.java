@@ -0,0 +1,320 @@
+package com.groq.api.resilience;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.groq.api.exceptions.GroqApiException;
+
+/**
+ * Retries failed API calls with exponential backoff and full jitter.
+ * <p>
+ * Only failures that are safe to repeat are retried: rate limiting and capacity responses
+ * (408, 425, 429, 498), server errors (500, 502, 503, 504) and I/O errors of the exchange. A
+ * {@code Retry-After} delay sent by the API is honored, and a call whose requested delay exceeds
+ * the maximum delay fails right away. Other client errors, malformed responses and requests
+ * rejected by an open {@link CircuitBreaker} fail immediately.
+ * <p>
+ * Retries draw from a budget shared by all calls of the policy: every call adds a fraction of a
+ * retry to it, and a small reserve refills over time. When an outage makes most calls fail, the
+ * budget runs out and failures are returned instead of multiplying the load on the API.
+ */
+public final class RetryPolicy {
+    /**
+     * The default number of attempts per call, including the first one.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    /**
+     * The default delay before the first retry, before jitter.
+     */
+    public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(250);
+
+    /**
+     * The default upper bound of the delay between attempts.
+     */
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(20);
+
+    /**
+     * The default number of retries every call adds to the budget.
+     */
+    public static final double DEFAULT_BUDGET_RATIO = 0.2;
+
+    private static final Set<Integer> RETRYABLE_STATUS_CODES = Set.of(408, 425, 429, 498, 500, 502, 503, 504);
+    private static final double BUDGET_RESERVE = 10;
+    private static final double BUDGET_RESERVE_PER_SECOND = 1;
+    private static final double MAX_BUDGET = 1000;
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetRatio;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder budgetRejections = new LongAdder();
+    private double budget = BUDGET_RESERVE;
+    private long budgetRefilledAt = System.nanoTime();
+
+    private RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, double budgetRatio) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetRatio = budgetRatio;
+    }
+
+    /**
+     * Creates a policy with the default attempts, delays and budget.
+     *
+     * @return A new RetryPolicy instance.
+     */
+    public static RetryPolicy create() {
+        return create(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY, DEFAULT_MAX_DELAY, DEFAULT_BUDGET_RATIO);
+    }
+
+    /**
+     * Creates a policy with the default budget.
+     *
+     * @param maxAttempts The number of attempts per call, including the first one.
+     * @param baseDelay The delay before the first retry, doubled for every further retry.
+     * @param maxDelay The upper bound of the delay between attempts.
+     * @return A new RetryPolicy instance.
+     */
+    public static RetryPolicy create(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        return create(maxAttempts, baseDelay, maxDelay, DEFAULT_BUDGET_RATIO);
+    }
+
+    /**
+     * Creates a policy.
+     *
+     * @param maxAttempts The number of attempts per call, including the first one.
+     * @param baseDelay The delay before the first retry, doubled for every further retry.
+     * @param maxDelay The upper bound of the delay between attempts.
+     * @param budgetRatio The number of retries every call adds to the shared budget, such as 0.2
+     *        to allow at most one retry for every five calls under sustained failure.
+     * @return A new RetryPolicy instance.
+     */
+    public static RetryPolicy create(int maxAttempts, Duration baseDelay, Duration maxDelay, double budgetRatio) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Maximum attempts must be at least 1: " + maxAttempts);
+        }
+        if (baseDelay == null || baseDelay.isNegative() || maxDelay == null || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("Delays must satisfy 0 <= baseDelay <= maxDelay");
+        }
+        if (budgetRatio < 0) {
+            throw new IllegalArgumentException("Budget ratio must not be negative: " + budgetRatio);
+        }
+        return new RetryPolicy(maxAttempts, baseDelay, maxDelay, budgetRatio);
+    }
+
+    /**
+     * Runs a call, starting it again after a delay while it fails with a retryable error.
+     * Cancelling the returned future cancels the current attempt and stops further attempts.
+     *
+     * @param attempt Starts one attempt of the call. It must be safe to invoke repeatedly.
+     * @param <T> The result type.
+     * @return A CompletableFuture that completes with the result of the first successful attempt,
+     *         or the failure of the last one.
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        Call call = newCall();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        run(attempt, call, result);
+        return result;
+    }
+
+    /**
+     * Starts tracking a call whose attempts are driven by the caller, such as a stream that is
+     * only retried until its first data arrives.
+     *
+     * @return The call, which decides on retries one failure at a time.
+     */
+    public Call newCall() {
+        calls.increment();
+        synchronized (this) {
+            budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+        }
+        return new Call();
+    }
+
+    /**
+     * Returns the statistics of this policy.
+     *
+     * @return A snapshot of the counters.
+     */
+    public RetryStats stats() {
+        return new RetryStats(calls.sum(), retries.sum(), exhausted.sum(), budgetRejections.sum());
+    }
+
+    /**
+     * Returns whether a failure is safe and worthwhile to retry.
+     *
+     * @param failure The failure, possibly wrapped in completion exceptions.
+     * @return true for rate limiting, capacity and server errors and for I/O errors.
+     */
+    public static boolean isRetryable(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof GroqApiException apiException && apiException.getStatusCode() > 0) {
+                return RETRYABLE_STATUS_CODES.contains(apiException.getStatusCode())
+                    && !CircuitBreaker.OPEN_ERROR_TYPE.equals(apiException.getErrorType());
+            }
+            if (current instanceof JsonProcessingException) {
+                return false;
+            }
+            if (current instanceof IOException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the {@code Retry-After} header, given either in seconds or as an HTTP date.
+     *
+     * @param headers The response headers.
+     * @return The requested delay, or null if the header is missing or malformed.
+     */
+    public static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.firstValue("retry-after").map(String::trim).orElse(null);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis(Math.max(0, (long) (Double.parseDouble(value) * 1000)));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException dateException) {
+                return null;
+            }
+        }
+    }
+
+    private <T> void run(Supplier<CompletableFuture<T>> attempt, Call call, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> current;
+        try {
+            current = attempt.get();
+        } catch (RuntimeException e) {
+            current = CompletableFuture.failedFuture(e);
+        }
+        
+        CompletableFuture<T> started = current;
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                started.cancel(true);
+            }
+        });
+        started.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+            long delay = result.isDone() ? -1 : call.nextDelayNanos(failure);
+            if (delay < 0) {
+                result.completeExceptionally(failure);
+            } else {
+                CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> run(attempt, call, result));
+            }
+        });
+    }
+
+    private synchronized boolean withdrawBudget() {
+        long now = System.nanoTime();
+        if (budget < BUDGET_RESERVE) {
+            budget = Math.min(BUDGET_RESERVE, budget + (now - budgetRefilledAt) / 1e9 * BUDGET_RESERVE_PER_SECOND);
+        }
+        budgetRefilledAt = now;
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    /**
+     * The attempts of one call.
+     */
+    public final class Call {
+        private int attempts = 1;
+
+        private Call() {
+        }
+
+        /**
+         * Decides whether to retry after a failed attempt. A positive decision counts as a retry
+         * and is taken from the budget.
+         *
+         * @param failure The failure of the last attempt.
+         * @return The delay in nanoseconds before the next attempt, or -1 to give up.
+         */
+        public synchronized long nextDelayNanos(Throwable failure) {
+            if (!isRetryable(failure)) {
+                return -1;
+            }
+            if (attempts >= maxAttempts) {
+                exhausted.increment();
+                return -1;
+            }
+            
+            long ceiling = baseDelayNanos << Math.min(attempts - 1, 30);
+            if (ceiling <= 0 || ceiling > maxDelayNanos) {
+                ceiling = maxDelayNanos;
+            }
+            long delay = ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+            Duration retryAfter = retryAfterOf(failure);
+            if (retryAfter != null) {
+                if (retryAfter.toNanos() > maxDelayNanos) {
+                    exhausted.increment();
+                    return -1;
+                }
+                delay = Math.max(delay, retryAfter.toNanos());
+            }
+            
+            if (!withdrawBudget()) {
+                budgetRejections.increment();
+                return -1;
+            }
+            attempts++;
+            retries.increment();
+            return delay;
+        }
+
+        /**
+         * Returns the number of attempts started so far.
+         *
+         * @return The attempts, including the first one.
+         */
+        public synchronized int attempts() {
+            return attempts;
+        }
+    }
+
+    private static Duration retryAfterOf(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof GroqApiException apiException) {
+                return apiException.getRetryAfter();
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.groq.api.resilience;
+
+/**
+ * Statistics for a {@link RetryPolicy}.
+ *
+ * @param calls The number of calls made through the policy.
+ * @param retries The number of retries, not counting first attempts.
+ * @param exhausted The number of calls that failed with a retryable error after their last attempt.
+ * @param budgetRejections The number of retries skipped because the retry budget was used up.
+ */
+public record RetryStats(
+    long calls,
+    long retries,
+    long exhausted,
+    long budgetRejections
+) {
+    /**
+     * Returns the ratio of retries to calls.
+     *
+     * @return The extra load caused by retries, or 0 if there were no calls.
+     */
+    public double retryRatio() {
+        return calls == 0 ? 0 : (double) retries / calls;
+    }
+}
@@ -0,0 +1,310 @@
+package com.groq.api.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.groq.api.models.ChatCompletion;
+import com.groq.api.models.ChatCompletionChunk;
+import com.groq.api.models.Message;
+import com.groq.api.models.ToolCall;
+import com.groq.api.models.Usage;
+
+/**
+ * Subscriber of a streamed chat completion that assembles its chunks into the completion the
+ * non-streaming endpoint would have returned, while forwarding every chunk to a downstream
+ * subscriber.
+ * <p>
+ * Content fragments and the argument fragments of tool calls are appended to growable buffers
+ * per choice and per tool call, so assembling a long answer copies each fragment once. The
+ * finish reason of every choice and the usage reported on the final chunk are kept as well.
+ * <pre>{@code
+ * ChatCompletionAccumulator accumulator = new ChatCompletionAccumulator(uiSubscriber);
+ * client.createChatCompletionStream(request).subscribe(accumulator);
+ * accumulator.completion().thenAccept(completion -> history.add(completion.choices().get(0).message()));
+ * }</pre>
+ * The downstream subscriber drives the demand. Without one, the accumulator requests every
+ * chunk, and cancelling its completion cancels the stream. An accumulator subscribes once.
+ * <p>
+ * A tool call listener receives every tool call as soon as its arguments are complete: when the
+ * next call of the same choice starts, when the choice finishes, or at the latest when the stream
+ * ends. Tools can so be started while the model is still generating the remaining calls.
+ */
+public final class ChatCompletionAccumulator implements Flow.Subscriber<ChatCompletionChunk> {
+    private final Flow.Subscriber<? super ChatCompletionChunk> downstream;
+    private final Consumer<ToolCall> toolCallListener;
+    private final CompletableFuture<ChatCompletion> completion = new CompletableFuture<>();
+    private final List<ChoiceBuffer> choices = new ArrayList<>(1);
+    private String id;
+    private Long created;
+    private String model;
+    private String systemFingerprint;
+    private ChatCompletionChunk lastChunk;
+    private Usage usage;
+
+    /**
+     * Creates an accumulator that only assembles the completion.
+     */
+    public ChatCompletionAccumulator() {
+        this(null);
+    }
+
+    /**
+     * Creates an accumulator that forwards every chunk to a subscriber.
+     *
+     * @param downstream The subscriber to forward the chunks to, or null.
+     */
+    public ChatCompletionAccumulator(Flow.Subscriber<? super ChatCompletionChunk> downstream) {
+        this(downstream, null);
+    }
+
+    /**
+     * Creates an accumulator that forwards every chunk to a subscriber and every complete tool
+     * call to a listener. The listener runs on the thread delivering the chunks, in the order of
+     * the calls, and must neither block nor throw.
+     *
+     * @param downstream The subscriber to forward the chunks to, or null.
+     * @param toolCallListener The listener of the complete tool calls, or null.
+     */
+    public ChatCompletionAccumulator(
+            Flow.Subscriber<? super ChatCompletionChunk> downstream,
+            Consumer<ToolCall> toolCallListener) {
+        this.downstream = downstream;
+        this.toolCallListener = toolCallListener;
+    }
+
+    /**
+     * Returns the assembled completion. It completes after the last chunk, and fails with the
+     * failure of the stream, or with a CancellationException if the downstream subscriber
+     * cancelled.
+     *
+     * @return A CompletableFuture that will complete with the assembled completion.
+     */
+    public CompletableFuture<ChatCompletion> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (downstream == null) {
+            completion.whenComplete((value, failure) -> {
+                if (completion.isCancelled()) {
+                    subscription.cancel();
+                }
+            });
+            subscription.request(Long.MAX_VALUE);
+            return;
+        }
+        downstream.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                subscription.request(n);
+            }
+
+            @Override
+            public void cancel() {
+                completion.completeExceptionally(new CancellationException("Stream cancelled by the subscriber"));
+                subscription.cancel();
+            }
+        });
+    }
+
+    @Override
+    public void onNext(ChatCompletionChunk chunk) {
+        accumulate(chunk);
+        if (downstream != null) {
+            downstream.onNext(chunk);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+        if (downstream != null) {
+            downstream.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (toolCallListener != null) {
+            for (ChoiceBuffer buffer : choices) {
+                if (buffer != null) {
+                    dispatchToolCalls(buffer, buffer.toolCalls.size());
+                }
+            }
+        }
+        completion.complete(build());
+        if (downstream != null) {
+            downstream.onComplete();
+        }
+    }
+
+    private void accumulate(ChatCompletionChunk chunk) {
+        if (id == null) {
+            id = chunk.id();
+            created = chunk.created();
+            model = chunk.model();
+        }
+        if (chunk.systemFingerprint() != null) {
+            systemFingerprint = chunk.systemFingerprint();
+        }
+        if (chunk.xGroq() != null && chunk.xGroq().usage() != null) {
+            // Reported once, on the final chunk
+            usage = chunk.xGroq().usage();
+        }
+        lastChunk = chunk;
+        if (chunk.choices() == null) {
+            return;
+        }
+        for (ChatCompletionChunk.Choice choice : chunk.choices()) {
+            ChoiceBuffer buffer = buffer(choices, choice.index(), ChoiceBuffer::new);
+            ChatCompletionChunk.Delta delta = choice.delta();
+            if (delta != null) {
+                buffer.append(delta);
+            }
+            if (choice.finishReason() != null) {
+                buffer.finishReason = choice.finishReason();
+            }
+            if (toolCallListener != null) {
+                // Calls are streamed one after the other, so all but the last one started are complete
+                dispatchToolCalls(buffer, buffer.finishReason == null ? buffer.toolCalls.size() - 1 : buffer.toolCalls.size());
+            }
+        }
+    }
+
+    private void dispatchToolCalls(ChoiceBuffer buffer, int upTo) {
+        while (buffer.dispatched < upTo) {
+            ToolCallBuffer call = buffer.toolCalls.get(buffer.dispatched++);
+            if (call != null) {
+                toolCallListener.accept(call.toolCall());
+            }
+        }
+    }
+
+    private ChatCompletion build() {
+        List<ChatCompletion.Choice> assembled = new ArrayList<>(choices.size());
+        for (int index = 0; index < choices.size(); index++) {
+            ChoiceBuffer buffer = choices.get(index);
+            if (buffer != null) {
+                assembled.add(new ChatCompletion.Choice(index, buffer.message(), buffer.finishReason));
+            }
+        }
+        return new ChatCompletion(
+            id,
+            "chat.completion",
+            created,
+            model,
+            assembled,
+            usage,
+            systemFingerprint,
+            lastChunk == null ? null : lastChunk.xGroq()
+        );
+    }
+
+    /**
+     * Returns the buffer at an index, growing the list as needed. A missing index means the only
+     * one so far, as servers omit it on single-choice streams.
+     */
+    private static <B> B buffer(List<B> buffers, Integer index, Supplier<B> factory) {
+        int position = index == null ? 0 : index;
+        while (buffers.size() <= position) {
+            buffers.add(null);
+        }
+        B buffer = buffers.get(position);
+        if (buffer == null) {
+            buffer = factory.get();
+            buffers.set(position, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * The fragments of one choice received so far.
+     */
+    private static final class ChoiceBuffer {
+        private final List<ToolCallBuffer> toolCalls = new ArrayList<>(0);
+        private String role;
+        private StringBuilder content;
+        private String finishReason;
+        private int dispatched;
+
+        void append(ChatCompletionChunk.Delta delta) {
+            if (delta.role() != null) {
+                role = delta.role();
+            }
+            if (delta.content() != null) {
+                if (content == null) {
+                    content = new StringBuilder(256);
+                }
+                content.append(delta.content());
+            }
+            if (delta.toolCalls() != null) {
+                for (ToolCall fragment : delta.toolCalls()) {
+                    buffer(toolCalls, fragment.index(), ToolCallBuffer::new).append(fragment);
+                }
+            }
+        }
+
+        Message message() {
+            List<ToolCall> calls = null;
+            if (!toolCalls.isEmpty()) {
+                calls = new ArrayList<>(toolCalls.size());
+                for (ToolCallBuffer call : toolCalls) {
+                    if (call != null) {
+                        calls.add(call.toolCall());
+                    }
+                }
+            }
+            return new Message(
+                role == null ? "assistant" : role,
+                content == null ? null : content.toString(),
+                null,
+                null,
+                calls
+            );
+        }
+    }
+
+    /**
+     * The fragments of one tool call received so far. The id, type and function name arrive on
+     * the first fragment, and the arguments are spread over all of them.
+     */
+    private static final class ToolCallBuffer {
+        private final StringBuilder arguments = new StringBuilder(64);
+        private String id;
+        private String type;
+        private String name;
+
+        void append(ToolCall fragment) {
+            if (fragment.id() != null) {
+                id = fragment.id();
+            }
+            if (fragment.type() != null) {
+                type = fragment.type();
+            }
+            ToolCall.FunctionCall function = fragment.function();
+            if (function != null) {
+                if (function.name() != null) {
+                    name = function.name();
+                }
+                if (function.arguments() != null) {
+                    arguments.append(function.arguments());
+                }
+            }
+        }
+
+        ToolCall toolCall() {
+            return new ToolCall(
+                null,
+                id,
+                type == null ? "function" : type,
+                new ToolCall.FunctionCall(name, arguments.toString())
+            );
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.groq.api.streaming;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Incremental server-sent events framing parser that works directly on response bytes.
+ * Lines are located at the byte level and every {@code data:} payload is handed to the
+ * {@link FrameHandler} as a range of a byte array, so a JSON chunk can be parsed without first
+ * being decoded to a String. Bytes are only copied when a line spans two network buffers or the
+ * buffer is not backed by an accessible array.
+ * <p>
+ * Each {@code data:} line is delivered as its own frame, matching the one-line JSON payloads of
+ * the chat completions stream. Other fields ({@code event:}, {@code id:}, {@code retry:}) and
+ * comments are ignored. Instances are not thread-safe; feed them from one thread at a time.
+ */
+public final class SseParser {
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final byte[] DATA_FIELD = {'d', 'a', 't', 'a', ':'};
+    private static final byte[] DONE_MARKER = {'[', 'D', 'O', 'N', 'E', ']'};
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private final FrameHandler handler;
+    private byte[] carry = new byte[INITIAL_BUFFER_SIZE];
+    private int carryLength;
+    private byte[] scratch;
+    private boolean done;
+
+    /**
+     * Receives the frames found by the parser.
+     */
+    public interface FrameHandler {
+        /**
+         * Called for every {@code data:} frame other than {@code [DONE]}.
+         * The range is only valid for the duration of the call.
+         *
+         * @param buffer The array holding the payload.
+         * @param offset The offset of the first payload byte.
+         * @param length The number of payload bytes.
+         * @throws IOException If the payload cannot be processed.
+         */
+        void onData(byte[] buffer, int offset, int length) throws IOException;
+
+        /**
+         * Called once when the {@code [DONE]} terminator is received.
+         */
+        void onDone();
+    }
+
+    /**
+     * Creates a parser that reports frames to the given handler.
+     *
+     * @param handler The handler receiving the frames.
+     */
+    public SseParser(FrameHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Consumes all remaining bytes of the buffer.
+     *
+     * @param buffer The next chunk of the response body.
+     * @throws IOException If the handler fails to process a frame.
+     */
+    public void feed(ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        if (done || length == 0) {
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.limit());
+            feed(buffer.array(), start, start + length);
+        } else {
+            if (scratch == null || scratch.length < length) {
+                scratch = new byte[Math.max(length, INITIAL_BUFFER_SIZE)];
+            }
+            buffer.get(scratch, 0, length);
+            feed(scratch, 0, length);
+        }
+    }
+
+    /**
+     * Consumes a range of bytes.
+     *
+     * @param bytes The array holding the bytes.
+     * @param start The offset of the first byte.
+     * @param end The offset after the last byte.
+     * @throws IOException If the handler fails to process a frame.
+     */
+    public void feed(byte[] bytes, int start, int end) throws IOException {
+        int lineStart = start;
+        while (!done && lineStart < end) {
+            int lineEnd = indexOf(bytes, LF, lineStart, end);
+            if (lineEnd < 0) {
+                append(bytes, lineStart, end);
+                return;
+            }
+
+            if (carryLength > 0) {
+                append(bytes, lineStart, lineEnd);
+                int length = carryLength;
+                carryLength = 0;
+                handleLine(carry, 0, length);
+            } else {
+                handleLine(bytes, lineStart, lineEnd);
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Processes a trailing line that was not terminated by a newline.
+     *
+     * @throws IOException If the handler fails to process the last frame.
+     */
+    public void finish() throws IOException {
+        if (!done && carryLength > 0) {
+            int length = carryLength;
+            carryLength = 0;
+            handleLine(carry, 0, length);
+        }
+    }
+
+    /**
+     * Returns whether the {@code [DONE]} terminator has been seen.
+     *
+     * @return true once the stream signalled its end.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    private void handleLine(byte[] bytes, int start, int end) throws IOException {
+        if (end > start && bytes[end - 1] == CR) {
+            end--;
+        }
+        if (!startsWith(bytes, start, end, DATA_FIELD)) {
+            return;
+        }
+
+        int payloadStart = start + DATA_FIELD.length;
+        if (payloadStart < end && bytes[payloadStart] == ' ') {
+            payloadStart++;
+        }
+
+        if (startsWith(bytes, payloadStart, end, DONE_MARKER) && end - payloadStart == DONE_MARKER.length) {
+            done = true;
+            handler.onDone();
+        } else if (payloadStart < end) {
+            handler.onData(bytes, payloadStart, end - payloadStart);
+        }
+    }
+
+    private void append(byte[] bytes, int start, int end) {
+        int length = end - start;
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+        }
+        System.arraycopy(bytes, start, carry, carryLength, length);
+        carryLength += length;
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] bytes, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,489 @@
+package com.groq.api.streaming;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.groq.api.exceptions.GroqApiException;
+import com.groq.api.resilience.RetryPolicy;
+
+/**
+ * Flow publisher for a server-sent events response that is driven by subscriber demand.
+ * The HTTP exchange starts when a subscriber subscribes, and the next batch of body buffers is
+ * only requested from the HTTP client once every frame decoded so far has been delivered and the
+ * subscriber has outstanding demand. A slow subscriber therefore holds back the network read
+ * instead of a thread, and the number of buffered items is bounded by the frames of one batch.
+ * <p>
+ * The publisher is unicast: it performs a single exchange and rejects additional subscribers.
+ *
+ * @param <T> The type of the decoded frames.
+ */
+public final class SseStreamPublisher<T> implements Flow.Publisher<T> {
+    private final HttpClient httpClient;
+    private final HttpRequest request;
+    private final FrameDecoder<T> decoder;
+    private final ExchangeListener listener;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Decodes one {@code data:} frame of the event stream.
+     *
+     * @param <T> The type of the decoded frame.
+     */
+    @FunctionalInterface
+    public interface FrameDecoder<T> {
+        /**
+         * Decodes a frame. The range is only valid for the duration of the call.
+         *
+         * @param buffer The array holding the payload.
+         * @param offset The offset of the first payload byte.
+         * @param length The number of payload bytes.
+         * @return The decoded item.
+         * @throws IOException If the payload is malformed.
+         */
+        T decode(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    /**
+     * Observes the HTTP exchange of a stream, for example to apply rate limits.
+     */
+    public interface ExchangeListener {
+        /**
+         * A listener that lets every request through and ignores the response.
+         */
+        ExchangeListener NONE = new ExchangeListener() {
+        };
+
+        /**
+         * Called when the subscriber subscribes. The request is sent once the returned future
+         * completes; if it fails, the subscriber receives the failure and nothing is sent.
+         *
+         * @return A CompletableFuture that completes when the request may be sent.
+         */
+        default CompletableFuture<Void> beforeSend() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * Called right before the request is sent, after {@link #beforeSend()} completed.
+         *
+         * @param request The request given to the publisher.
+         * @return The request to send, for example with another URI or Authorization header.
+         */
+        default HttpRequest prepare(HttpRequest request) {
+            return request;
+        }
+
+        /**
+         * Called when the status line and headers of the response have arrived.
+         *
+         * @param response The status code and headers.
+         */
+        default void onResponse(HttpResponse.ResponseInfo response) {
+        }
+
+        /**
+         * Called when the request was allowed but no response arrived, because the exchange
+         * failed or the subscriber cancelled first.
+         *
+         * @param throwable The failure.
+         */
+        default void onFailure(Throwable throwable) {
+        }
+
+        /**
+         * Called once for every request that was sent, when its exchange is over: the body was
+         * read to the end, the exchange failed, or the subscriber cancelled.
+         *
+         * @param failure The failure or cancellation of the exchange, or null if the body was read
+         *        to the end.
+         */
+        default void onComplete(Throwable failure) {
+        }
+
+        /**
+         * Called when the request failed before the stream delivered any data, so it can be sent
+         * again without the subscriber noticing.
+         *
+         * @param failure The failure.
+         * @return The delay in nanoseconds before the request is sent again, or a negative value
+         *         to pass the failure to the subscriber.
+         */
+        default long retryDelayNanos(Throwable failure) {
+            return -1;
+        }
+
+        /**
+         * Called once when the stream of the subscriber ends: after its last chunk, with its
+         * failure, or when it cancelled.
+         *
+         * @param failure The failure passed to the subscriber, a CancellationException if it
+         *        cancelled, or null if the stream completed.
+         */
+        default void onTerminate(Throwable failure) {
+        }
+    }
+
+    /**
+     * Creates a publisher for the given streaming request.
+     *
+     * @param httpClient The HTTP client used to perform the exchange.
+     * @param request The request producing a {@code text/event-stream} response.
+     * @param decoder The decoder applied to every data frame.
+     */
+    public SseStreamPublisher(HttpClient httpClient, HttpRequest request, FrameDecoder<T> decoder) {
+        this(httpClient, request, decoder, ExchangeListener.NONE);
+    }
+
+    /**
+     * Creates a publisher for the given streaming request with a listener for the exchange.
+     *
+     * @param httpClient The HTTP client used to perform the exchange.
+     * @param request The request producing a {@code text/event-stream} response.
+     * @param decoder The decoder applied to every data frame.
+     * @param listener The listener notified before the request is sent and when the response arrives.
+     */
+    public SseStreamPublisher(HttpClient httpClient, HttpRequest request, FrameDecoder<T> decoder, ExchangeListener listener) {
+        this.httpClient = httpClient;
+        this.request = request;
+        this.decoder = decoder;
+        this.listener = listener;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("This stream publisher only supports a single subscriber"));
+            return;
+        }
+
+        StreamSubscription subscription = new StreamSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    /**
+     * Subscription handed to the downstream subscriber that is also the body subscriber of the
+     * HTTP response. All signals to the downstream subscriber are serialized by {@link #drain()}.
+     */
+    private final class StreamSubscription implements Flow.Subscription, HttpResponse.BodySubscriber<Void> {
+        private final Flow.Subscriber<? super T> downstream;
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final CompletableFuture<Void> body = new CompletableFuture<>();
+        private final SseParser parser;
+
+        private volatile Flow.Subscription upstream;
+        private volatile CompletableFuture<HttpResponse<Void>> exchange;
+        private volatile boolean upstreamPending;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Throwable error;
+        private boolean terminated;
+
+        StreamSubscription(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+            this.parser = new SseParser(new SseParser.FrameHandler() {
+                @Override
+                public void onData(byte[] buffer, int offset, int length) throws IOException {
+                    try {
+                        queue.offer(decoder.decode(buffer, offset, length));
+                    } catch (IOException e) {
+                        throw new IOException(
+                            "Failed to parse JSON chunk: " + new String(buffer, offset, length, StandardCharsets.UTF_8),
+                            e
+                        );
+                    }
+                }
+
+                @Override
+                public void onDone() {
+                    done = true;
+                }
+            });
+        }
+
+        void start() {
+            if (cancelled) {
+                return;
+            }
+            CompletableFuture<Void> gate;
+            try {
+                gate = listener.beforeSend();
+            } catch (RuntimeException e) {
+                gate = CompletableFuture.failedFuture(e);
+            }
+            gate.whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    Throwable cause = unwrap(throwable);
+                    fail(cause instanceof GroqApiException
+                        ? cause
+                        : new GroqApiException(-1, "Stream request failed: " + cause.getMessage(), cause));
+                } else if (cancelled) {
+                    CancellationException cancellation =
+                        new CancellationException("Stream cancelled before the request was sent");
+                    listener.onFailure(cancellation);
+                    listener.onComplete(cancellation);
+                } else {
+                    send();
+                }
+            });
+        }
+
+        private void send() {
+            AtomicBoolean responded = new AtomicBoolean();
+            AtomicBoolean accepted = new AtomicBoolean();
+            StringBuilder errorBody = new StringBuilder();
+            HttpRequest prepared = listener.prepare(request);
+            CompletableFuture<HttpResponse<Void>> future = httpClient.sendAsync(prepared, responseInfo -> {
+                responded.set(true);
+                listener.onResponse(responseInfo);
+                if (responseInfo.statusCode() >= 200 && responseInfo.statusCode() < 300) {
+                    accepted.set(true);
+                    return this;
+                }
+                return BodySubscribers.mapping(BodySubscribers.ofString(StandardCharsets.UTF_8), text -> {
+                    errorBody.append(text);
+                    return null;
+                });
+            });
+            exchange = future;
+            future.whenComplete((response, throwable) -> {
+                if (throwable != null && !responded.get()) {
+                    listener.onFailure(throwable);
+                }
+                listener.onComplete(throwable);
+                Throwable failure = null;
+                if (throwable != null) {
+                    Throwable cause = unwrap(throwable);
+                    failure = cause instanceof GroqApiException
+                        ? cause
+                        : new GroqApiException(-1, "Stream request failed: " + cause.getMessage(), cause);
+                } else if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                    failure = new GroqApiException(
+                        response.statusCode(),
+                        "API request failed with status " + response.statusCode() + ": " + errorBody,
+                        RetryPolicy.retryAfter(response.headers())
+                    );
+                }
+                if (failure == null) {
+                    return;
+                }
+                if (!accepted.get() && !cancelled) {
+                    long delay = listener.retryDelayNanos(failure);
+                    if (delay >= 0) {
+                        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(this::start);
+                        return;
+                    }
+                }
+                fail(failure);
+            });
+            if (cancelled) {
+                future.cancel(true);
+            }
+        }
+
+        //--------------------------------------------------------------------
+        // Flow.Subscription (downstream)
+        //--------------------------------------------------------------------
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested items must be positive: " + n));
+                return;
+            }
+            requested.getAndAccumulate(n, (current, added) -> {
+                long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelUpstream();
+            drain();
+        }
+
+        private void cancelUpstream() {
+            Flow.Subscription current = upstream;
+            if (current != null) {
+                current.cancel();
+            }
+            CompletableFuture<HttpResponse<Void>> future = exchange;
+            if (future != null && !future.isDone()) {
+                future.cancel(true);
+            }
+        }
+
+        //--------------------------------------------------------------------
+        // HttpResponse.BodySubscriber (upstream)
+        //--------------------------------------------------------------------
+
+        @Override
+        public CompletionStage<Void> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            drain();
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    parser.feed(buffer);
+                }
+            } catch (Exception e) {
+                body.completeExceptionally(e);
+                fail(new GroqApiException(-1, e.getMessage(), e.getCause() != null ? e.getCause() : e));
+                return;
+            }
+
+            if (done) {
+                // Read the remainder of the body without demand so the connection can be reused
+                upstream.request(1);
+            } else {
+                upstreamPending = false;
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+            fail(new GroqApiException(-1, "Stream request failed: " + throwable.getMessage(), throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                parser.finish();
+                body.complete(null);
+                done = true;
+            } catch (Exception e) {
+                body.completeExceptionally(e);
+                fail(new GroqApiException(-1, e.getMessage(), e.getCause() != null ? e.getCause() : e));
+                return;
+            }
+            drain();
+        }
+
+        //--------------------------------------------------------------------
+        // Delivery
+        //--------------------------------------------------------------------
+
+        private void fail(Throwable throwable) {
+            if (error == null) {
+                error = throwable;
+            }
+            done = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (terminated) {
+                    return;
+                }
+                if (cancelled) {
+                    terminated = true;
+                    queue.clear();
+                    listener.onTerminate(new CancellationException("Stream cancelled by the subscriber"));
+                    return;
+                }
+
+                Throwable failure = error;
+                if (failure != null) {
+                    terminated = true;
+                    queue.clear();
+                    cancelUpstream();
+                    downstream.onError(failure);
+                    listener.onTerminate(failure);
+                    return;
+                }
+
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    T item = queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    emitted++;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                if (!cancelled && done && error == null && queue.isEmpty()) {
+                    terminated = true;
+                    downstream.onComplete();
+                    listener.onTerminate(null);
+                    return;
+                }
+
+                Flow.Subscription current = upstream;
+                if (current != null && !cancelled && !done && !upstreamPending
+                        && queue.isEmpty() && requested.get() > 0) {
+                    upstreamPending = true;
+                    current.request(1);
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.Base64;
+import java.util.function.Predicate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.groq.api.config.GroqApiConfig;
@@ -54,8 +55,17 @@ public final class ImageUtils {
             );
         }
         
-        String model = modelNode.asText();
-        if (!GroqApiConfig.VISION_MODELS.contains(model)) {
+        validateVisionModel(modelNode.asText());
+    }
+    
+    /**
+     * Validates that a model name is a supported vision model.
+     *
+     * @param model The model name.
+     * @throws GroqApiException If the model is not a valid vision model.
+     */
+    public static void validateVisionModel(String model) throws GroqApiException {
+        if (model == null || !GroqApiConfig.VISION_MODELS.contains(model)) {
             throw new GroqApiException(
                 400,
                 "Invalid vision model. Must be one of: " + String.join(", ", GroqApiConfig.VISION_MODELS)
@@ -63,6 +73,20 @@ public final class ImageUtils {
         }
     }
     
+    /**
+     * Validates that a model name is a vision model according to the given lookup, such as
+     * {@code ModelCatalog::isVisionCapable}.
+     *
+     * @param model The model name.
+     * @param isVisionModel Returns whether a model name is a vision model.
+     * @throws GroqApiException If the model is not a valid vision model.
+     */
+    public static void validateVisionModel(String model, Predicate<String> isVisionModel) throws GroqApiException {
+        if (model == null || !isVisionModel.test(model)) {
+            throw new GroqApiException(400, "Invalid vision model: " + model);
+        }
+    }
+    
     /**
      * Validates that a Base64-encoded image does not exceed the maximum size.
      *
@@ -1,7 +1,19 @@
 package com.groq.api.utils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -12,12 +24,24 @@ import com.groq.api.models.Tool;
  * Utility class for working with JSON in the Groq API.
  */
 public final class JsonUtils {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     
     private JsonUtils() {
         // Utility class should not be instantiated
     }
     
+    /**
+     * Returns the shared object mapper used by the client and these utilities.
+     * An ObjectMapper is expensive to create and caches serializers per type, so a single
+     * instance is reused. It is thread-safe, but must not be reconfigured once in use.
+     *
+     * @return The shared object mapper.
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+    
     /**
      * Extracts the content of text from a chat completion response.
      *
@@ -95,9 +119,7 @@ public final class JsonUtils {
         String systemMessage,
         float temperature
     ) {
-        ObjectMapper mapper = new ObjectMapper();
-        
-        ObjectNode userMessageNode = mapper.createObjectNode()
+        ObjectNode userMessageNode = MAPPER.createObjectNode()
             .put("role", "user")
             .put("content", userMessage);
         
@@ -109,7 +131,7 @@ public final class JsonUtils {
             );
         }
         
-        ObjectNode systemMessageNode = mapper.createObjectNode()
+        ObjectNode systemMessageNode = MAPPER.createObjectNode()
             .put("role", "system")
             .put("content", systemMessage);
             
@@ -241,4 +263,81 @@ public final class JsonUtils {
             .put("name", functionName)
             .put("content", functionResponse);
     }
-}
\ No newline at end of file
+
+    /**
+     * Computes a SHA-256 hash of the canonical form of a JSON value.
+     * Object fields are hashed in sorted order and numbers by value, so requests that differ only
+     * in field order or number formatting ({@code 0} and {@code 0.0}) hash to the same key.
+     *
+     * @param node The JSON value.
+     * @return The hash as a lowercase hexadecimal string.
+     */
+    public static String canonicalHash(JsonNode node) {
+        MessageDigest digest = sha256();
+        try (JsonGenerator generator = MAPPER.getFactory()
+                .createGenerator(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            writeCanonical(generator, node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Computes a SHA-256 hash of serialized JSON, such as a typed request written with a fixed
+     * property order.
+     *
+     * @param json The JSON bytes.
+     * @return The hash as a lowercase hexadecimal string.
+     */
+    public static String hash(byte[] json) {
+        return HexFormat.of().formatHex(sha256().digest(json));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void writeCanonical(JsonGenerator generator, JsonNode node) throws IOException {
+        if (node.isObject()) {
+            List<String> fieldNames = new ArrayList<>(node.size());
+            node.fieldNames().forEachRemaining(fieldNames::add);
+            Collections.sort(fieldNames);
+            
+            generator.writeStartObject();
+            for (String fieldName : fieldNames) {
+                generator.writeFieldName(fieldName);
+                writeCanonical(generator, node.get(fieldName));
+            }
+            generator.writeEndObject();
+        } else if (node.isArray()) {
+            generator.writeStartArray();
+            for (JsonNode element : node) {
+                writeCanonical(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (node.isNumber()) {
+            generator.writeNumber(canonicalNumber(node));
+        } else {
+            MAPPER.writeTree(generator, node);
+        }
+    }
+
+    private static String canonicalNumber(JsonNode node) {
+        if (node.isIntegralNumber()) {
+            return node.bigIntegerValue().toString();
+        }
+        // Floats are formatted at their own precision, so 0.7f and 0.7 agree
+        String text = node.isFloat() ? Float.toString(node.floatValue()) : node.asText();
+        try {
+            return new BigDecimal(text).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            // NaN and infinities have no decimal form
+            return text;
+        }
+    }
+}
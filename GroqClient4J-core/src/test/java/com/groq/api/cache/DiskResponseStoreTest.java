@@ -0,0 +1,113 @@
+package com.groq.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskResponseStoreTest {
+    private static final long MAXIMUM_SIZE = 64L << 20;
+    private static final Duration TTL = Duration.ofHours(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsAfterTornRecord() throws IOException {
+        try (DiskResponseStore store = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL)) {
+            store.put("before", bytes("first"));
+        }
+
+        // A writer that died mid-append: the length promises more bytes than were written
+        Path segment = onlySegment();
+        long intact = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(4096).putInt(0).putInt(42).flip());
+        }
+
+        try (DiskResponseStore store = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL)) {
+            assertArrayEquals(bytes("first"), store.get("before"));
+            store.put("after", bytes("second"));
+            assertArrayEquals(bytes("second"), store.get("after"));
+            assertEquals(2, store.stats().size());
+        }
+        assertTrue(Files.size(segment) > intact);
+
+        try (DiskResponseStore store = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL)) {
+            assertArrayEquals(bytes("first"), store.get("before"));
+            assertArrayEquals(bytes("second"), store.get("after"));
+        }
+    }
+
+    @Test
+    void readsRecordsAcrossMappedChunks() throws IOException {
+        byte[] value = new byte[100_000];
+        int count = 40;
+        try (DiskResponseStore store = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL)) {
+            for (int i = 0; i < count; i++) {
+                value[0] = (byte) i;
+                store.put("key-" + i, value);
+            }
+            for (int i = 0; i < count; i++) {
+                value[0] = (byte) i;
+                assertArrayEquals(value, store.get("key-" + i));
+            }
+        }
+
+        try (DiskResponseStore store = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL)) {
+            for (int i = 0; i < count; i++) {
+                value[0] = (byte) i;
+                assertArrayEquals(value, store.get("key-" + i));
+            }
+        }
+    }
+
+    @Test
+    void sharesDirectoryWithinJvm() throws Exception {
+        try (DiskResponseStore first = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL);
+                DiskResponseStore second = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL)) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    second.put("second-" + i, bytes("value-" + i));
+                }
+            });
+            writer.start();
+            for (int i = 0; i < 200; i++) {
+                first.put("first-" + i, bytes("value-" + i));
+            }
+            writer.join();
+
+            assertEquals(0, first.stats().rejections());
+            assertEquals(0, second.stats().rejections());
+            second.compact();
+            assertArrayEquals(bytes("value-7"), second.get("first-7"));
+        }
+
+        try (DiskResponseStore store = DiskResponseStore.open(directory, MAXIMUM_SIZE, TTL)) {
+            assertArrayEquals(bytes("value-199"), store.get("first-199"));
+            assertArrayEquals(bytes("value-199"), store.get("second-199"));
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+            return files.iterator().next();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}